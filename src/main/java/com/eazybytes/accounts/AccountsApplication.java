@@ -1,5 +1,10 @@
 package com.eazybytes.accounts;
 
+import com.eazybytes.accounts.config.DataSourceRoutingProperties;
+import com.eazybytes.accounts.config.LifecycleProperties;
+import com.eazybytes.accounts.config.PersistenceResilienceProperties;
+import com.eazybytes.accounts.config.SearchProperties;
+import com.eazybytes.accounts.config.ShardingProperties;
 import com.eazybytes.accounts.dto.AccountContactInfoDto;
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
@@ -13,7 +18,9 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @SpringBootApplication
 @EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
-@EnableConfigurationProperties(value = {AccountContactInfoDto.class})
+@EnableConfigurationProperties(value = {AccountContactInfoDto.class, LifecycleProperties.class,
+		DataSourceRoutingProperties.class, ShardingProperties.class, SearchProperties.class,
+		PersistenceResilienceProperties.class})
 @OpenAPIDefinition(
 		info = @Info(
 				title = "Accounts microService REST API Documentation",
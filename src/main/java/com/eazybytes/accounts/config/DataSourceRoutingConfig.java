@@ -0,0 +1,74 @@
+package com.eazybytes.accounts.config;
+
+import com.eazybytes.accounts.datasource.ReadAfterWriteFilter;
+import com.eazybytes.accounts.datasource.ReadWriteRoutingDataSource;
+import com.eazybytes.accounts.datasource.ReplicaSelection;
+import com.eazybytes.accounts.datasource.ReplicaSelector;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured datasource with a primary/replica router when
+ * {@code accounts.datasource.routing.enabled} is set. The primary keeps using {@code spring.datasource.*}.
+ * With sharding on, {@link ShardingConfig} routes inside each shard instead, using the shard's own replicas.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "accounts.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "accounts.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                 DataSourceRoutingProperties routingProperties,
+                                                                 Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = HikariPools.create(dataSourceProperties, binder, "primary", null, null, null);
+        return readWriteRouting(primary, "", routingProperties.replicas(), routingProperties.selection(),
+                dataSourceProperties, binder);
+    }
+
+    static ReadWriteRoutingDataSource readWriteRouting(HikariDataSource primary, String poolNamePrefix,
+                                                       List<DataSourceRoutingProperties.Replica> replicaProperties,
+                                                       ReplicaSelection selection,
+                                                       DataSourceProperties dataSourceProperties, Binder binder) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (DataSourceRoutingProperties.Replica replica : replicaProperties) {
+            HikariDataSource replicaDataSource = HikariPools.create(dataSourceProperties, binder,
+                    poolNamePrefix + "replica-" + replicas.size(), replica.url(), replica.username(), replica.password());
+            replicaDataSource.setReadOnly(true);
+            replicas.add(replicaDataSource);
+        }
+
+        ReplicaSelector replicaSelector = new ReplicaSelector(replicas, selection);
+        return new ReadWriteRoutingDataSource(primary, replicas, replicaSelector);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "accounts.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadAfterWriteFilter> readAfterWriteFilter(DataSourceRoutingProperties routingProperties) {
+        FilterRegistrationBean<ReadAfterWriteFilter> registration =
+                new FilterRegistrationBean<>(new ReadAfterWriteFilter(routingProperties.stickinessWindow()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,22 @@
+package com.eazybytes.accounts.config;
+
+import com.eazybytes.accounts.datasource.ReplicaSelection;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "accounts.datasource.routing")
+public record DataSourceRoutingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("ROUND_ROBIN") ReplicaSelection selection,
+        @DefaultValue("5s") Duration stickinessWindow,
+        @DefaultValue List<Replica> replicas) {
+
+    /**
+     * Connection settings of one read replica; username and password default to the primary's.
+     */
+    public record Replica(String url, String username, String password) {
+    }
+}
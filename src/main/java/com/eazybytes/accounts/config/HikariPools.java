@@ -0,0 +1,30 @@
+package com.eazybytes.accounts.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+
+/**
+ * Builds the extra connection pools of the replica and shard configurations the way Spring Boot
+ * builds the default one: connection settings from {@code spring.datasource.*} unless overridden,
+ * pool settings (sizes, timeouts) from {@code spring.datasource.hikari.*}.
+ */
+final class HikariPools {
+
+    private HikariPools() {
+    }
+
+    static HikariDataSource create(DataSourceProperties dataSourceProperties, Binder binder, String poolName,
+                                   String url, String username, String password) {
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url != null ? url : dataSourceProperties.determineUrl())
+                .username(username != null ? username : dataSourceProperties.determineUsername())
+                .password(password != null ? password : dataSourceProperties.determinePassword())
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        return pool;
+    }
+}
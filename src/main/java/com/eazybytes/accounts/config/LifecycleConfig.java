@@ -0,0 +1,22 @@
+package com.eazybytes.accounts.config;
+
+import com.eazybytes.accounts.lifecycle.InFlightRequestFilter;
+import com.eazybytes.accounts.lifecycle.InFlightRequestTracker;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class LifecycleConfig {
+
+    @Bean
+    public FilterRegistrationBean<InFlightRequestFilter> inFlightRequestFilter(InFlightRequestTracker tracker) {
+        FilterRegistrationBean<InFlightRequestFilter> registration =
+                new FilterRegistrationBean<>(new InFlightRequestFilter(tracker));
+        // only business traffic is drained, actuator probes keep answering until the server stops
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
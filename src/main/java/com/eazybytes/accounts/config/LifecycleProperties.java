@@ -0,0 +1,13 @@
+package com.eazybytes.accounts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "accounts.lifecycle")
+public record LifecycleProperties(
+        @DefaultValue("20s") Duration drainTimeout,
+        @DefaultValue("true") boolean repairOrphansOnStartup,
+        @DefaultValue("100") int repairBatchSize) {
+}
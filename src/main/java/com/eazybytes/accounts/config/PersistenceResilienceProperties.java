@@ -0,0 +1,31 @@
+package com.eazybytes.accounts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Latency budgets and breaker settings of the persistence layer. The per-operation query timeouts,
+ * {@code accounts.persistence.queryTimeouts.*}, are not bound here: they are whole seconds read by the
+ * {@code @Transactional(timeoutString)} placeholders of the service methods.
+ */
+@ConfigurationProperties(prefix = "accounts.persistence")
+public record PersistenceResilienceProperties(
+        @DefaultValue("1s") Duration defaultBudget,
+        Map<String, Duration> budgets,
+        @DefaultValue Breaker breaker) {
+
+    public Duration budget(String operation) {
+        return budgets == null ? defaultBudget : budgets.getOrDefault(operation, defaultBudget);
+    }
+
+    public record Breaker(
+            @DefaultValue("50") float failureRateThreshold,
+            @DefaultValue("20") int slidingWindowSize,
+            @DefaultValue("10") int minimumNumberOfCalls,
+            @DefaultValue("10s") Duration waitDurationInOpenState,
+            @DefaultValue("3") int permittedCallsInHalfOpenState) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.eazybytes.accounts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "accounts.search")
+public record SearchProperties(
+        @DefaultValue("1000") int maxScannedRows,
+        @DefaultValue("2s") Duration queryTimeout) {
+}
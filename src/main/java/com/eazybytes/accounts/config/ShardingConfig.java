@@ -0,0 +1,68 @@
+package com.eazybytes.accounts.config;
+
+import com.eazybytes.accounts.datasource.ReadWriteRoutingDataSource;
+import com.eazybytes.accounts.sharding.ShardRouter;
+import com.eazybytes.accounts.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * With {@code accounts.sharding.enabled} the customer and account tables are spread over
+ * {@code accounts.sharding.shards}; otherwise the router treats the single datasource as shard 0.
+ * A shard with replicas is itself a {@link ReadWriteRoutingDataSource} when replica routing is on.
+ */
+@Configuration
+public class ShardingConfig {
+
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties shardingProperties, DataSourceRoutingProperties routingProperties,
+                                   DataSourceProperties dataSourceProperties, Environment environment) {
+        if (!shardingProperties.enabled()) {
+            return ShardRouter.singleShard();
+        }
+        if (shardingProperties.shards().isEmpty()) {
+            throw new IllegalStateException("accounts.sharding.enabled is set but no shards are configured");
+        }
+
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"));
+        Binder binder = Binder.get(environment);
+        List<DataSource> shards = new ArrayList<>();
+        for (ShardingProperties.Shard shard : shardingProperties.shards()) {
+            String poolName = "shard-" + shards.size();
+            HikariDataSource shardDataSource = HikariPools.create(dataSourceProperties, binder,
+                    poolName, shard.url(), shard.username(), shard.password());
+            // spring.sql.init and Hibernate only ever see shard 0, so every shard gets the schema here
+            schema.execute(shardDataSource);
+            if (routingProperties.enabled() && !shard.replicas().isEmpty()) {
+                // the shard is picked first, then the shard's primary or one of its replicas
+                ReadWriteRoutingDataSource readWriteRouting = DataSourceRoutingConfig.readWriteRouting(shardDataSource,
+                        poolName + "-", shard.replicas(), routingProperties.selection(), dataSourceProperties, binder);
+                readWriteRouting.afterPropertiesSet();
+                shards.add(readWriteRouting);
+            } else {
+                shards.add(shardDataSource);
+            }
+        }
+        return new ShardRouter(shards);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "accounts.sharding", name = "enabled", havingValue = "true")
+    public DataSource dataSource(ShardRouter shardRouter) {
+        ShardRoutingDataSource router = new ShardRoutingDataSource(shardRouter.shardDataSources());
+        router.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(router);
+    }
+}
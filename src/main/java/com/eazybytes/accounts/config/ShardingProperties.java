@@ -0,0 +1,21 @@
+package com.eazybytes.accounts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "accounts.sharding")
+public record ShardingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Shard> shards) {
+
+    /**
+     * Connection settings of one shard; the position in the list is the shard index.
+     * Username and password default to {@code spring.datasource.*}. The shard's read-only transactions go to
+     * its replicas when {@code accounts.datasource.routing.enabled} is set.
+     */
+    public record Shard(String url, String username, String password,
+                        @DefaultValue List<DataSourceRoutingProperties.Replica> replicas) {
+    }
+}
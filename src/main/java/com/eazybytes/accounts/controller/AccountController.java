@@ -3,15 +3,27 @@ package com.eazybytes.accounts.controller;
 import com.eazybytes.accounts.constant.AccountsConstant;
 import com.eazybytes.accounts.dto.AccountContactInfoDto;
 import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.ErrorResponseDto;
 import com.eazybytes.accounts.dto.ResponseDto;
+import com.eazybytes.accounts.dto.SearchResultDto;
+import com.eazybytes.accounts.exception.PersistenceUnavailableException;
 import com.eazybytes.accounts.service.IAccountsService;
+import com.eazybytes.accounts.sharding.ShardRouter;
+import com.eazybytes.accounts.validation.MobileNumber;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
@@ -21,9 +33,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import static com.eazybytes.accounts.constant.AccountsConstant.MESSAGE_201;
 import static com.eazybytes.accounts.constant.AccountsConstant.STATUS_201;
 
+@Slf4j
 @Tag(
         name = "CRUD REST API For Accounts in EazyBank",
         description = "CRUD REST API  in EazyBank to CREATE, UPDATE, FETCH AND DELETE account details"
@@ -41,6 +61,15 @@ public class AccountController {
     @Value("${build.version}")
     private String buildVersion;
 
+    @Value("${accounts.export.pageSize:500}")
+    private int exportPageSize;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
     @Autowired
     private Environment environment;
 
@@ -78,7 +107,7 @@ public class AccountController {
     )
     @GetMapping("/fetch")
     public ResponseEntity<CustomerDto> fetchAccountDetails(@RequestParam
-                                                           @Pattern(regexp = "^$|[0-9]{10}", message = "Mobile number must be 10 digits")
+                                                           @MobileNumber
                                                            String mobileNumber) {
         CustomerDto customerDto = iAccountsService.fetchAccount(mobileNumber);
         return new ResponseEntity<>(customerDto, HttpStatus.OK);
@@ -130,7 +159,7 @@ public class AccountController {
     )
     @DeleteMapping("/delete")
     public ResponseEntity<ResponseDto> deleteAccount(@RequestParam
-                                                     @Pattern(regexp = "^$|[0-9]{10}", message = "Mobile number must be 10 digits")
+                                                     @MobileNumber
                                                      String mobileNumber) {
         boolean isDeleted = iAccountsService.deleteAccount(mobileNumber);
         if (isDeleted) {
@@ -144,6 +173,115 @@ public class AccountController {
         }
     }
 
+    @Operation(
+            summary = "Search Accounts Rest API",
+            description = "REST API to search Customer & Account inside EazyBank by case-insensitive prefix of name, " +
+                    "email, account type or branch address. Follow nextCursor until it is null; with more than one filter " +
+                    "a page can be short or empty while more results follow"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error"
+            )
+    })
+    @GetMapping("/search")
+    public ResponseEntity<SearchResultDto> searchAccounts(@RequestParam(required = false) String name,
+                                                          @RequestParam(required = false) String email,
+                                                          @RequestParam(required = false) String accountType,
+                                                          @RequestParam(required = false) String branchAddress,
+                                                          @RequestParam(required = false)
+                                                          @Pattern(regexp = "^$|[0-9]{1,9}:[0-9]{1,18}(:[A-Za-z0-9_-]{0,200})?", message = "Cursor must be a nextCursor value returned by a previous search")
+                                                          String cursor,
+                                                          @RequestParam(defaultValue = "20")
+                                                          @Min(value = 1, message = "Page size must be at least 1")
+                                                          @Max(value = 100, message = "Page size must be at most 100")
+                                                          int size) {
+        SearchResultDto searchResultDto = iAccountsService.searchAccounts(name, email, accountType, branchAddress,
+                cursor, size);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(searchResultDto);
+    }
+
+    @Operation(
+            summary = "Export Accounts Rest API",
+            description = "REST API to export every Customer & Account inside EazyBank, read from all shards " +
+                    "concurrently and streamed as one JSON array. If reading fails after the response has started, " +
+                    "the array ends with an {\"exportError\": {...}} element and the export is incomplete"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "HTTP Status Service Unavailable"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error"
+            )
+    })
+    @GetMapping("/export")
+    public void exportAccounts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // one page in flight per shard: each shard reads its next page while the current one is written
+        Deque<CompletableFuture<SearchResultDto>> pending = new ArrayDeque<>();
+        for (String cursor : iAccountsService.exportCursors()) {
+            pending.add(nextExportPage(cursor));
+        }
+        // every shard's first page is read before anything is written, so a failure there still gets a proper error response
+        pending.forEach(AccountController::await);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            try {
+                while (!pending.isEmpty()) {
+                    SearchResultDto page = await(pending.poll());
+                    if (page.nextCursor() != null) {
+                        pending.add(nextExportPage(page.nextCursor()));
+                    }
+                    for (CustomerDto customerDto : page.results()) {
+                        generator.writeObject(customerDto);
+                    }
+                    generator.flush();
+                }
+            } catch (RuntimeException exception) {
+                // the 200 is already sent, so the client can only learn about the failure from the body
+                log.warn("Export failed after the response was committed", exception);
+                HttpStatus status = exception instanceof PersistenceUnavailableException
+                        ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.INTERNAL_SERVER_ERROR;
+                generator.writeStartObject();
+                generator.writeObjectField("exportError", new ErrorResponseDto("uri=" + request.getRequestURI(),
+                        status, exception.getMessage(), LocalDateTime.now()));
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private CompletableFuture<SearchResultDto> nextExportPage(String cursor) {
+        return shardRouter.scatter(() -> iAccountsService.exportAccounts(cursor, exportPageSize));
+    }
+
+    private static SearchResultDto await(CompletableFuture<SearchResultDto> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
     @Operation(
             summary = "Get build information",
             description = "Get Build information that is deployed into accounts micro services"
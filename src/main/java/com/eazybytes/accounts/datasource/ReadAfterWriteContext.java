@@ -0,0 +1,26 @@
+package com.eazybytes.accounts.datasource;
+
+/**
+ * Marks the current request as belonging to a client that wrote recently,
+ * so its read-only transactions stay on the primary instead of a possibly lagging replica.
+ */
+public final class ReadAfterWriteContext {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private ReadAfterWriteContext() {
+
+    }
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+}
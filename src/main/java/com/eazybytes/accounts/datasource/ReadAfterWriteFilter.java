@@ -0,0 +1,80 @@
+package com.eazybytes.accounts.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Read-your-writes stickiness: a successful mutating request hands the client a short-lived cookie with the write time,
+ * and reads carrying a fresh cookie are pinned to the primary. Being client-side, it holds across instances.
+ */
+public class ReadAfterWriteFilter extends OncePerRequestFilter {
+
+    static final String LAST_WRITE_COOKIE = "accounts-last-write";
+
+    private final Duration stickinessWindow;
+
+    public ReadAfterWriteFilter(Duration stickinessWindow) {
+        this.stickinessWindow = stickinessWindow;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        if (!isMutation(request)) {
+            if (wroteRecently(request, now)) {
+                ReadAfterWriteContext.pinToPrimary();
+            }
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                ReadAfterWriteContext.clear();
+            }
+            return;
+        }
+
+        // mutation responses are small: hold the body back so the cookie can still go out once the status is known
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, cachingResponse);
+            if (HttpStatusCode.valueOf(cachingResponse.getStatus()).is2xxSuccessful()) {
+                Cookie cookie = new Cookie(LAST_WRITE_COOKIE, Long.toString(now));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, stickinessWindow.toSeconds()));
+                cachingResponse.addCookie(cookie);
+            }
+        } finally {
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private boolean isMutation(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    private boolean wroteRecently(HttpServletRequest request, long now) {
+        Cookie cookie = WebUtils.getCookie(request, LAST_WRITE_COOKIE);
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            long elapsed = now - Long.parseLong(cookie.getValue());
+            // the value is client controlled: a write time in the future would otherwise pin the client for good
+            return elapsed >= 0 && elapsed < stickinessWindow.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
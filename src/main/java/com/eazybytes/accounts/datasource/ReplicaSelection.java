@@ -0,0 +1,6 @@
+package com.eazybytes.accounts.datasource;
+
+public enum ReplicaSelection {
+    ROUND_ROBIN,
+    LEAST_CONNECTIONS
+}
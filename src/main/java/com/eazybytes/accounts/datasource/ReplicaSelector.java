@@ -0,0 +1,60 @@
+package com.eazybytes.accounts.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the replica that serves the next read-only transaction.
+ */
+public class ReplicaSelector {
+
+    private final List<HikariDataSource> replicas;
+    private final ReplicaSelection selection;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaSelector(List<HikariDataSource> replicas, ReplicaSelection selection) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required for read routing");
+        }
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+    }
+
+    /**
+     * @return index of the selected replica
+     */
+    public int select() {
+        if (selection == ReplicaSelection.LEAST_CONNECTIONS) {
+            return leastConnections();
+        }
+        return Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    private int leastConnections() {
+        // start from a rotating offset so ties don't all land on the first replica
+        int offset = Math.floorMod(next.getAndIncrement(), replicas.size());
+        int best = offset;
+        int bestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            int candidate = (offset + i) % replicas.size();
+            int active = activeConnections(replicas.get(candidate));
+            if (active < bestActive) {
+                best = candidate;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    private static int activeConnections(HikariDataSource replica) {
+        HikariPoolMXBean pool = replica.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    public int size() {
+        return replicas.size();
+    }
+}
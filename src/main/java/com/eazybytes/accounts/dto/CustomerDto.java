@@ -1,24 +1,22 @@
 package com.eazybytes.accounts.dto;
 
+import com.eazybytes.accounts.validation.MobileNumber;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
-import lombok.Data;
 
-@Data
-public class CustomerDto {
+public record CustomerDto(
 
-    @NotEmpty(message = "Name can not be null or empty")
-    @Size(min = 5, max = 30, message = "The Length of the customer name should be between 5 and 30")
-    private String name;
+        @NotEmpty(message = "Name can not be null or empty")
+        @Size(min = 5, max = 30, message = "The Length of the customer name should be between 5 and 30")
+        String name,
 
-    @NotEmpty(message = "email can not be null or empty")
-    @Email(message = "Email address should be a valid value")
-    private String email;
+        @NotEmpty(message = "email can not be null or empty")
+        @Email(message = "Email address should be a valid value")
+        String email,
 
-    @Pattern(regexp = "^$|[0-9]{10}", message = "Mobile number must be 10 digits")
-    private String mobileNumber;
+        @MobileNumber
+        String mobileNumber,
 
-    private AccountsDto accountsDto;
+        AccountsDto accountsDto) {
 }
@@ -1,20 +1,16 @@
 package com.eazybytes.accounts.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDateTime;
 
-@Data
-@AllArgsConstructor
-public class ErrorResponseDto {
+public record ErrorResponseDto(
 
-    private String apiPath;
+        String apiPath,
 
-    private HttpStatus errorCode;
+        HttpStatus errorCode,
 
-    private String errorMessage;
+        String errorMessage,
 
-    private LocalDateTime errorTime;
+        LocalDateTime errorTime) {
 }
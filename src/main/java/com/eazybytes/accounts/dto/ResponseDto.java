@@ -1,13 +1,8 @@
 package com.eazybytes.accounts.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
+public record ResponseDto(
 
-@Data
-@AllArgsConstructor
-public class ResponseDto {
+        String statusCode,
 
-    private String statusCode;
-
-    private String statusMsg;
+        String statusMsg) {
 }
@@ -0,0 +1,14 @@
+package com.eazybytes.accounts.dto;
+
+import java.util.List;
+
+/**
+ * @param nextCursor pass back as {@code cursor} to continue; null once every shard has been searched.
+ *                   A page can be short or even empty while this is still set.
+ */
+public record SearchResultDto(
+
+        List<CustomerDto> results,
+
+        String nextCursor) {
+}
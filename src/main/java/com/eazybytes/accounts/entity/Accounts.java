@@ -7,7 +7,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = {
+        @Index(name = "uk_accounts_customer_id", columnList = "customer_id", unique = true),
+        @Index(name = "idx_accounts_account_type", columnList = "account_type"),
+        @Index(name = "idx_accounts_branch_address", columnList = "branch_address")
+})
 @Getter
 @Setter
 @AllArgsConstructor
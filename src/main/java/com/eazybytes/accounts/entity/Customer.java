@@ -8,7 +8,11 @@ import lombok.Setter;
 import org.hibernate.annotations.GenericGenerator;
 
 @Entity
-@Table(name = "customer")
+@Table(name = "customer", indexes = {
+        @Index(name = "idx_customer_mobile_number", columnList = "mobile_number"),
+        @Index(name = "idx_customer_name", columnList = "name"),
+        @Index(name = "idx_customer_email", columnList = "email")
+})
 @Getter
 @Setter
 @NoArgsConstructor
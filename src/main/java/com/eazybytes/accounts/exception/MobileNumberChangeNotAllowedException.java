@@ -0,0 +1,13 @@
+package com.eazybytes.accounts.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class MobileNumberChangeNotAllowedException extends RuntimeException {
+
+    public MobileNumberChangeNotAllowedException(String currentMobileNumber, String requestedMobileNumber) {
+        super(String.format("Mobile number %s can not be changed to %s, it decides where the customer is stored",
+                currentMobileNumber, requestedMobileNumber));
+    }
+}
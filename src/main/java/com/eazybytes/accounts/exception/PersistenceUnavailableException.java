@@ -0,0 +1,16 @@
+package com.eazybytes.accounts.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class PersistenceUnavailableException extends RuntimeException {
+
+    public PersistenceUnavailableException(String message) {
+        super(message);
+    }
+
+    public PersistenceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,73 @@
+package com.eazybytes.accounts.lifecycle;
+
+import com.eazybytes.accounts.config.LifecycleProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs before the embedded web server and the datasource are stopped: flips the tracker
+ * into draining mode and waits for in-flight requests to finish, up to the configured deadline.
+ */
+@Slf4j
+@Component
+public class GracefulDrainLifecycle implements SmartLifecycle {
+
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(25);
+
+    private final InFlightRequestTracker tracker;
+    private final LifecycleProperties lifecycleProperties;
+    private final Timer drainTimer;
+    private volatile boolean running;
+
+    public GracefulDrainLifecycle(InFlightRequestTracker tracker, LifecycleProperties lifecycleProperties,
+                                  MeterRegistry meterRegistry) {
+        this.tracker = tracker;
+        this.lifecycleProperties = lifecycleProperties;
+        this.drainTimer = Timer.builder("accounts.shutdown.drain")
+                .description("Time spent waiting for in-flight requests during shutdown")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        tracker.startDraining();
+        long start = System.nanoTime();
+        long deadline = start + lifecycleProperties.drainTimeout().toNanos();
+        while (tracker.getInFlight() > 0 && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(POLL_INTERVAL_NANOS);
+        }
+        long elapsed = System.nanoTime() - start;
+        drainTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+        int remaining = tracker.getInFlight();
+        if (remaining > 0) {
+            log.warn("Drain deadline of {} reached with {} request(s) still in flight",
+                    lifecycleProperties.drainTimeout(), remaining);
+        } else {
+            log.info("Drained in-flight requests in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // highest phase stops first, ahead of the web server's own graceful shutdown
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+}
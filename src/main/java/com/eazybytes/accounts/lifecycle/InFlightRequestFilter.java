@@ -0,0 +1,39 @@
+package com.eazybytes.accounts.lifecycle;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Counts every API request in and out, and answers 503 once the instance is draining
+ * so the load balancer retries on another pod instead of hitting a half-stopped one.
+ */
+public class InFlightRequestFilter extends OncePerRequestFilter {
+
+    private final InFlightRequestTracker tracker;
+
+    public InFlightRequestFilter(InFlightRequestTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!tracker.tryEnter()) {
+            response.setHeader(HttpHeaders.CONNECTION, "close");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Instance is shutting down");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tracker.exit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.eazybytes.accounts.lifecycle;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free accounting of API requests that are currently being served,
+ * plus the draining flag that tells the filter to stop admitting new ones.
+ */
+@Component
+public class InFlightRequestTracker {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean draining;
+
+    /**
+     * @return false when the instance is draining and the request must be rejected
+     */
+    public boolean tryEnter() {
+        if (draining) {
+            return false;
+        }
+        inFlight.incrementAndGet();
+        // re-check so a request racing with startDraining() is either counted or rejected, never lost
+        if (draining) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    public void startDraining() {
+        draining = true;
+    }
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,44 @@
+package com.eazybytes.accounts.lifecycle;
+
+import com.eazybytes.accounts.config.LifecycleProperties;
+import com.eazybytes.accounts.service.IAccountsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup scan for customers left without an account by a create that was interrupted
+ * before the account row was written (e.g. a pod killed mid-request on an older build).
+ */
+@Slf4j
+@Component
+public class OrphanCustomerRepairRunner implements ApplicationRunner {
+
+    private final IAccountsService iAccountsService;
+    private final LifecycleProperties lifecycleProperties;
+    private final Counter repairedCounter;
+
+    public OrphanCustomerRepairRunner(IAccountsService iAccountsService, LifecycleProperties lifecycleProperties,
+                                      MeterRegistry meterRegistry) {
+        this.iAccountsService = iAccountsService;
+        this.lifecycleProperties = lifecycleProperties;
+        this.repairedCounter = Counter.builder("accounts.orphans.repaired")
+                .description("Customers without an account that were repaired at startup")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!lifecycleProperties.repairOrphansOnStartup()) {
+            return;
+        }
+        int repaired = iAccountsService.repairOrphanCustomers(lifecycleProperties.repairBatchSize());
+        repairedCounter.increment(repaired);
+        if (repaired > 0) {
+            log.warn("Repaired {} customer(s) that had no account", repaired);
+        }
+    }
+}
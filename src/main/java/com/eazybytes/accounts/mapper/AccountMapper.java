@@ -2,20 +2,22 @@ package com.eazybytes.accounts.mapper;
 
 import com.eazybytes.accounts.dto.AccountsDto;
 import com.eazybytes.accounts.entity.Accounts;
+import com.eazybytes.accounts.repository.CustomerAccountView;
 
 public class AccountMapper {
 
     public static Accounts mapToAccounts(AccountsDto accountsDto, Accounts accounts){
-        accounts.setAccountNumber((accountsDto.getAccountNumber()));
-        accounts.setAccountType(accountsDto.getAccountType());
-        accounts.setBranchAddress(accountsDto.getBranchAddress());
+        accounts.setAccountNumber((accountsDto.accountNumber()));
+        accounts.setAccountType(accountsDto.accountType());
+        accounts.setBranchAddress(accountsDto.branchAddress());
         return accounts;
     }
 
-    public static AccountsDto mapToAccountsDto(Accounts accounts, AccountsDto accountsDto){
-        accountsDto.setAccountNumber(accounts.getAccountNumber());
-        accountsDto.setAccountType(accounts.getAccountType());
-        accountsDto.setBranchAddress(accounts.getBranchAddress());
-        return accountsDto;
+    public static AccountsDto mapToAccountsDto(Accounts accounts){
+        return new AccountsDto(accounts.getAccountNumber(), accounts.getAccountType(), accounts.getBranchAddress());
+    }
+
+    public static AccountsDto mapToAccountsDto(CustomerAccountView view){
+        return new AccountsDto(view.accountNumber(), view.accountType(), view.branchAddress());
     }
 }
@@ -1,21 +1,24 @@
 package com.eazybytes.accounts.mapper;
 
+import com.eazybytes.accounts.dto.AccountsDto;
 import com.eazybytes.accounts.dto.CustomerDto;
 import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.repository.CustomerAccountView;
 
 public class CustomerMapper {
 
-    public static CustomerDto mapToCustomerDto(Customer customer, CustomerDto customerDto){
-        customerDto.setEmail(customer.getEmail());
-        customerDto.setName(customer.getName());
-        customerDto.setMobileNumber(customer.getMobileNumber());
-        return customerDto;
+    public static CustomerDto mapToCustomerDto(Customer customer, AccountsDto accountsDto){
+        return new CustomerDto(customer.getName(), customer.getEmail(), customer.getMobileNumber(), accountsDto);
+    }
+
+    public static CustomerDto mapToCustomerDto(CustomerAccountView view){
+        return new CustomerDto(view.name(), view.email(), view.mobileNumber(), AccountMapper.mapToAccountsDto(view));
     }
 
     public static Customer mapToCustomer( CustomerDto customerDto,Customer customer){
-        customer.setEmail(customerDto.getEmail());
-        customer.setName(customerDto.getName());
-        customer.setMobileNumber(customerDto.getMobileNumber());
+        customer.setEmail(customerDto.email());
+        customer.setName(customerDto.name());
+        customer.setMobileNumber(customerDto.mobileNumber());
         return customer;
     }
 }
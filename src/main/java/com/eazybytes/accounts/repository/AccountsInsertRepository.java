@@ -0,0 +1,13 @@
+package com.eazybytes.accounts.repository;
+
+import com.eazybytes.accounts.entity.Accounts;
+
+public interface AccountsInsertRepository {
+
+    /**
+     * Inserts the account as a new row and flushes. The account number is assigned by the caller, so a plain
+     * {@code save} would merge onto an existing account with the same number; this fails with a
+     * {@link org.springframework.dao.DataIntegrityViolationException} instead.
+     */
+    void insert(Accounts accounts);
+}
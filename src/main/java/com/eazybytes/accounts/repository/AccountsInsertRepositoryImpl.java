@@ -0,0 +1,17 @@
+package com.eazybytes.accounts.repository;
+
+import com.eazybytes.accounts.entity.Accounts;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+class AccountsInsertRepositoryImpl implements AccountsInsertRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insert(Accounts accounts) {
+        entityManager.persist(accounts);
+        entityManager.flush();
+    }
+}
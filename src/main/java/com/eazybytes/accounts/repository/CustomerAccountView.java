@@ -0,0 +1,14 @@
+package com.eazybytes.accounts.repository;
+
+/**
+ * Flat customer + account row read straight from a query, without loading managed entities.
+ */
+public record CustomerAccountView(
+        Long customerId,
+        String name,
+        String email,
+        String mobileNumber,
+        Long accountNumber,
+        String accountType,
+        String branchAddress) {
+}
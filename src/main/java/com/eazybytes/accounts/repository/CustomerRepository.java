@@ -1,13 +1,33 @@
 package com.eazybytes.accounts.repository;
 
 import com.eazybytes.accounts.entity.Customer;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerSearchRepository {
 
     Optional<Customer> findByMobileNumber(String mobileNumber);
+
+    @Query("select new com.eazybytes.accounts.repository.CustomerAccountView(" +
+            "c.customerId, c.name, c.email, c.mobileNumber, a.accountNumber, a.accountType, a.branchAddress) " +
+            "from Customer c join Accounts a on a.customerId = c.customerId where c.mobileNumber = :mobileNumber")
+    Optional<CustomerAccountView> findAccountViewByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
+    @Query("select new com.eazybytes.accounts.repository.CustomerAccountView(" +
+            "c.customerId, c.name, c.email, c.mobileNumber, a.accountNumber, a.accountType, a.branchAddress) " +
+            "from Customer c join Accounts a on a.customerId = c.customerId " +
+            "where c.customerId > :afterCustomerId order by c.customerId")
+    List<CustomerAccountView> findAccountViewsAfter(@Param("afterCustomerId") long afterCustomerId, Pageable pageable);
+
+    @Query("select c from Customer c where c.customerId > :afterCustomerId " +
+            "and not exists (select a.accountNumber from Accounts a where a.customerId = c.customerId) " +
+            "order by c.customerId")
+    List<Customer> findCustomersWithoutAccount(@Param("afterCustomerId") long afterCustomerId, Pageable pageable);
 }
@@ -0,0 +1,18 @@
+package com.eazybytes.accounts.repository;
+
+public interface CustomerSearchRepository {
+
+    /**
+     * One keyset page of a prefix search over customers and their accounts, in {@link SearchKey} order.
+     * Blank prefixes are ignored. At most {@code limit} rows are returned, and every statement is bounded by
+     * {@code accounts.search.queryTimeout}. When filters other than the driving one are given, at most
+     * {@code accounts.search.maxScannedRows} entries of the driving index are scanned, so the page may come
+     * back short with {@link PrefixSearchPage#lastScanned()} set.
+     *
+     * @param afterKey driving column value of the last row of the previous page, or null to start from the beginning
+     * @param afterCustomerId customer id of the last row of the previous page, or 0 to start from the beginning
+     */
+    PrefixSearchPage searchByPrefix(String namePrefix, String emailPrefix, String accountTypePrefix,
+                                    String branchAddressPrefix, String afterKey, long afterCustomerId,
+                                    int limit);
+}
@@ -0,0 +1,132 @@
+package com.eazybytes.accounts.repository;
+
+import com.eazybytes.accounts.config.SearchProperties;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class CustomerSearchRepositoryImpl implements CustomerSearchRepository {
+
+    private static final String QUERY_TIMEOUT_HINT = "jakarta.persistence.query.timeout";
+
+    private static final String SELECT_VIEW =
+            "select new com.eazybytes.accounts.repository.CustomerAccountView(" +
+                    "c.customerId, c.name, c.email, c.mobileNumber, a.accountNumber, a.accountType, a.branchAddress) " +
+                    "from Customer c join Accounts a on a.customerId = c.customerId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final SearchProperties searchProperties;
+
+    CustomerSearchRepositoryImpl(SearchProperties searchProperties) {
+        this.searchProperties = searchProperties;
+    }
+
+    @Override
+    public PrefixSearchPage searchByPrefix(String namePrefix, String emailPrefix, String accountTypePrefix,
+                                           String branchAddressPrefix, String afterKey, long afterCustomerId,
+                                           int limit) {
+        SearchKey key = SearchKey.driving(namePrefix, emailPrefix, accountTypePrefix, branchAddressPrefix);
+
+        // the range of the driving index this page walks: its prefix, from the cursor onwards
+        List<String> scan = new ArrayList<>();
+        Map<String, Object> scanParameters = new LinkedHashMap<>();
+        String orderBy;
+        if (key == SearchKey.CUSTOMER_ID) {
+            scan.add("c.customerId > :afterCustomerId");
+            scanParameters.put("afterCustomerId", afterCustomerId);
+            orderBy = "c.customerId";
+        } else {
+            addPrefix(scan, scanParameters, key.path(), "drivingPrefix", key.prefixOf(namePrefix, emailPrefix,
+                    accountTypePrefix, branchAddressPrefix));
+            if (afterKey != null) {
+                scan.add("(" + key.path() + " > :afterKey or (" + key.path() + " = :afterKey " +
+                        "and c.customerId > :afterCustomerId))");
+                scanParameters.put("afterKey", afterKey);
+                scanParameters.put("afterCustomerId", afterCustomerId);
+            }
+            orderBy = key.path() + ", c.customerId";
+        }
+
+        // only the filters that were given end up in the query
+        List<String> filters = new ArrayList<>();
+        Map<String, Object> filterParameters = new LinkedHashMap<>();
+        if (key != SearchKey.NAME) {
+            addPrefix(filters, filterParameters, SearchKey.NAME.path(), "namePrefix", namePrefix);
+        }
+        if (key != SearchKey.EMAIL) {
+            addPrefix(filters, filterParameters, SearchKey.EMAIL.path(), "emailPrefix", emailPrefix);
+        }
+        if (key != SearchKey.BRANCH_ADDRESS) {
+            addPrefix(filters, filterParameters, SearchKey.BRANCH_ADDRESS.path(), "branchAddressPrefix", branchAddressPrefix);
+        }
+        if (key != SearchKey.ACCOUNT_TYPE) {
+            addPrefix(filters, filterParameters, SearchKey.ACCOUNT_TYPE.path(), "accountTypePrefix", accountTypePrefix);
+        }
+
+        CustomerAccountView lastScanned = null;
+        if (!filters.isEmpty()) {
+            // the other filters may match almost nothing, so one page only looks at a bounded window of the index
+            lastScanned = windowEnd(scan, scanParameters, orderBy);
+            if (lastScanned != null) {
+                filters.add("(" + key.path() + " < :windowKey or (" + key.path() + " = :windowKey " +
+                        "and c.customerId <= :windowCustomerId))");
+                filterParameters.put("windowKey", key.valueOf(lastScanned));
+                filterParameters.put("windowCustomerId", lastScanned.customerId());
+            }
+        }
+
+        List<String> conditions = new ArrayList<>(scan);
+        conditions.addAll(filters);
+        Map<String, Object> parameters = new LinkedHashMap<>(scanParameters);
+        parameters.putAll(filterParameters);
+        List<CustomerAccountView> rows = query(conditions, parameters, orderBy)
+                .setMaxResults(limit)
+                .getResultList();
+        return new PrefixSearchPage(rows, lastScanned);
+    }
+
+    /**
+     * @return the row {@code maxScannedRows} entries into the scanned range, or null when the range is shorter
+     */
+    private CustomerAccountView windowEnd(List<String> scan, Map<String, Object> scanParameters, String orderBy) {
+        List<CustomerAccountView> end = query(scan, scanParameters, orderBy)
+                .setFirstResult(searchProperties.maxScannedRows() - 1)
+                .setMaxResults(1)
+                .getResultList();
+        return end.isEmpty() ? null : end.get(0);
+    }
+
+    private TypedQuery<CustomerAccountView> query(List<String> conditions, Map<String, Object> parameters,
+                                                  String orderBy) {
+        StringBuilder jpql = new StringBuilder(SELECT_VIEW);
+        if (!conditions.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", conditions));
+        }
+        jpql.append(" order by ").append(orderBy);
+
+        TypedQuery<CustomerAccountView> query = entityManager.createQuery(jpql.toString(), CustomerAccountView.class)
+                .setHint(QUERY_TIMEOUT_HINT, (int) searchProperties.queryTimeout().toMillis());
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    private static void addPrefix(List<String> conditions, Map<String, Object> parameters, String path,
+                                  String parameter, String prefix) {
+        if (!SearchKey.hasText(prefix)) {
+            return;
+        }
+        conditions.add(path + " like :" + parameter + " escape '\\'");
+        parameters.put(parameter, escapeLike(prefix) + "%");
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
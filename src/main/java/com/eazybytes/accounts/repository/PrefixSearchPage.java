@@ -0,0 +1,13 @@
+package com.eazybytes.accounts.repository;
+
+import java.util.List;
+
+/**
+ * Rows of one search page.
+ *
+ * @param rows matching rows in {@link SearchKey} order
+ * @param lastScanned the last row of the scanned window when {@code accounts.search.maxScannedRows} cut the scan
+ *                    short, null when the scan reached the end of the matching range; rows after it are unscanned
+ */
+public record PrefixSearchPage(List<CustomerAccountView> rows, CustomerAccountView lastScanned) {
+}
@@ -0,0 +1,68 @@
+package com.eazybytes.accounts.repository;
+
+import java.util.function.Function;
+
+/**
+ * The column a prefix search pages on. The first given filter, in declaration order, drives the scan:
+ * rows come back ordered by it and then by customer id, so the database walks that column's index from
+ * the prefix onwards. Account type comes last because it has the fewest distinct values.
+ */
+public enum SearchKey {
+
+    NAME("c.name", CustomerAccountView::name),
+    EMAIL("c.email", CustomerAccountView::email),
+    BRANCH_ADDRESS("a.branchAddress", CustomerAccountView::branchAddress),
+    ACCOUNT_TYPE("a.accountType", CustomerAccountView::accountType),
+    // no filter at all: plain customer id order
+    CUSTOMER_ID(null, null);
+
+    private final String path;
+    private final Function<CustomerAccountView, String> value;
+
+    SearchKey(String path, Function<CustomerAccountView, String> value) {
+        this.path = path;
+        this.value = value;
+    }
+
+    public static SearchKey driving(String namePrefix, String emailPrefix, String accountTypePrefix,
+                                    String branchAddressPrefix) {
+        if (hasText(namePrefix)) {
+            return NAME;
+        }
+        if (hasText(emailPrefix)) {
+            return EMAIL;
+        }
+        if (hasText(branchAddressPrefix)) {
+            return BRANCH_ADDRESS;
+        }
+        if (hasText(accountTypePrefix)) {
+            return ACCOUNT_TYPE;
+        }
+        return CUSTOMER_ID;
+    }
+
+    /**
+     * @return the value of this column in the row, or null for {@link #CUSTOMER_ID}
+     */
+    public String valueOf(CustomerAccountView row) {
+        return value == null ? null : value.apply(row);
+    }
+
+    String prefixOf(String namePrefix, String emailPrefix, String accountTypePrefix, String branchAddressPrefix) {
+        return switch (this) {
+            case NAME -> namePrefix;
+            case EMAIL -> emailPrefix;
+            case BRANCH_ADDRESS -> branchAddressPrefix;
+            case ACCOUNT_TYPE -> accountTypePrefix;
+            case CUSTOMER_ID -> null;
+        };
+    }
+
+    String path() {
+        return path;
+    }
+
+    static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,17 @@
+package com.eazybytes.accounts.resilience;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated service method through the {@link PersistenceCircuitBreaker}, measured against
+ * the latency budget configured under {@code accounts.persistence.budgets.<value>}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PersistenceBudget {
+
+    String value();
+}
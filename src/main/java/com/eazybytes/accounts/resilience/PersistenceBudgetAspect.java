@@ -0,0 +1,25 @@
+package com.eazybytes.accounts.resilience;
+
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// ordered just ahead of the transaction interceptor (LOWEST_PRECEDENCE), so an open breaker rejects
+// the call before a connection is borrowed
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@AllArgsConstructor
+public class PersistenceBudgetAspect {
+
+    private PersistenceCircuitBreaker persistenceCircuitBreaker;
+
+    @Around("@annotation(budget)")
+    public Object guard(ProceedingJoinPoint joinPoint, PersistenceBudget budget) throws Throwable {
+        return persistenceCircuitBreaker.execute(budget.value(), joinPoint::proceed);
+    }
+}
@@ -0,0 +1,114 @@
+package com.eazybytes.accounts.resilience;
+
+import com.eazybytes.accounts.config.PersistenceResilienceProperties;
+import com.eazybytes.accounts.exception.PersistenceUnavailableException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.core.functions.CheckedSupplier;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * One breaker for the whole persistence layer: every endpoint shares the same pool and database, so
+ * when the database slows down it does so for all of them at once. A call counts against the breaker
+ * when the database could not answer it (a timeout, a connection that could not be had or was lost,
+ * another transient error) or when it overruns the latency budget of its operation. Everything else,
+ * from a missing customer to a constraint violation, means the database answered and counts as a success,
+ * so bad client input can not open the breaker for everyone.
+ */
+@Component
+public class PersistenceCircuitBreaker {
+
+    private final CircuitBreaker circuitBreaker;
+    private final PersistenceResilienceProperties properties;
+
+    public PersistenceCircuitBreaker(PersistenceResilienceProperties properties) {
+        PersistenceResilienceProperties.Breaker breaker = properties.breaker();
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(breaker.slidingWindowSize())
+                .minimumNumberOfCalls(breaker.minimumNumberOfCalls())
+                .failureRateThreshold(breaker.failureRateThreshold())
+                .waitDurationInOpenState(breaker.waitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(breaker.permittedCallsInHalfOpenState())
+                // an open breaker takes the pod out of rotation, so no call may arrive to move it on
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build();
+        this.circuitBreaker = CircuitBreaker.of("persistence", config);
+        this.properties = properties;
+    }
+
+    public <T> T execute(String operation, CheckedSupplier<T> call) throws Throwable {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new PersistenceUnavailableException("The accounts database is unavailable, please retry later");
+        }
+        long start = circuitBreaker.getCurrentTimestamp();
+        try {
+            T result = call.get();
+            record(operation, start, null);
+            return result;
+        } catch (Throwable throwable) {
+            record(operation, start, throwable);
+            if (isUnavailable(throwable)) {
+                throw new PersistenceUnavailableException("The accounts database did not answer in time, please retry later", throwable);
+            }
+            throw throwable;
+        }
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    public CircuitBreaker.Metrics getMetrics() {
+        return circuitBreaker.getMetrics();
+    }
+
+    private void record(String operation, long start, Throwable throwable) {
+        long duration = circuitBreaker.getCurrentTimestamp() - start;
+        long budget = circuitBreaker.getTimestampUnit().convert(properties.budget(operation));
+        if (throwable != null && isPersistenceFailure(throwable)) {
+            circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(), throwable);
+        } else if (duration > budget) {
+            circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(),
+                    new TimeoutException(operation + " overran its latency budget of " + properties.budget(operation)));
+        } else {
+            circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+        }
+    }
+
+    private static boolean isPersistenceFailure(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransactionTimedOutException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isUnavailable(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof QueryTimeoutException
+                    || cause instanceof TransactionTimedOutException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package com.eazybytes.accounts.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the persistence breaker as {@code persistenceCircuitBreaker} in the readiness group,
+ * /actuator/health/readiness; {@link PersistenceHealthGroups} keeps it out of the root status. An open
+ * breaker is OUT_OF_SERVICE rather than DOWN: the instance itself is fine and should be taken out of
+ * rotation, not restarted.
+ */
+@Component
+@AllArgsConstructor
+public class PersistenceCircuitBreakerHealthIndicator implements HealthIndicator {
+
+    private PersistenceCircuitBreaker persistenceCircuitBreaker;
+
+    @Override
+    public Health health() {
+        CircuitBreaker.State state = persistenceCircuitBreaker.getState();
+        CircuitBreaker.Metrics metrics = persistenceCircuitBreaker.getMetrics();
+        Health.Builder builder = state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN
+                ? Health.outOfService()
+                : Health.up();
+        return builder
+                .withDetail("state", state)
+                .withDetail("failureRate", metrics.getFailureRate())
+                .withDetail("bufferedCalls", metrics.getNumberOfBufferedCalls())
+                .withDetail("failedCalls", metrics.getNumberOfFailedCalls())
+                .withDetail("notPermittedCalls", metrics.getNumberOfNotPermittedCalls())
+                .build();
+    }
+}
@@ -1,6 +1,9 @@
 package com.eazybytes.accounts.service;
 
 import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.SearchResultDto;
+
+import java.util.List;
 
 public interface IAccountsService {
 
@@ -25,4 +28,42 @@ public interface IAccountsService {
     boolean updateAccount(CustomerDto customerDto);
 
     boolean deleteAccount(String mobileNumber);
+
+    /**
+     * Prefix search on customer name, email, account type and branch address; blank filters are ignored.
+     *
+     * @param name
+     * @param email
+     * @param accountType
+     * @param branchAddress
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param pageSize
+     * @return
+     */
+    SearchResultDto searchAccounts(String name, String email, String accountType, String branchAddress,
+                                   String cursor, int pageSize);
+
+    /**
+     * The first export cursor of every shard. The shards are independent, so their pages can be read concurrently.
+     *
+     * @return one cursor per shard
+     */
+    List<String> exportCursors();
+
+    /**
+     * One page of every customer with its account on one shard, in customer id order.
+     *
+     * @param cursor a cursor from {@link #exportCursors()} or the nextCursor of the shard's previous page
+     * @param pageSize
+     * @return the page, with a null nextCursor once the shard has no more customers
+     */
+    SearchResultDto exportAccounts(String cursor, int pageSize);
+
+    /**
+     * Creates the missing account for every customer that has none, one batch per transaction.
+     *
+     * @param batchSize
+     * @return number of customers repaired
+     */
+    int repairOrphanCustomers(int batchSize);
 }
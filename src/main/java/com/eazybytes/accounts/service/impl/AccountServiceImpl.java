@@ -3,47 +3,81 @@ package com.eazybytes.accounts.service.impl;
 import com.eazybytes.accounts.constant.AccountsConstant;
 import com.eazybytes.accounts.dto.AccountsDto;
 import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.SearchResultDto;
 import com.eazybytes.accounts.entity.Accounts;
 import com.eazybytes.accounts.entity.Customer;
 import com.eazybytes.accounts.exception.CustomerAlreadyExistsException;
+import com.eazybytes.accounts.exception.InvalidCursorException;
+import com.eazybytes.accounts.exception.MobileNumberChangeNotAllowedException;
 import com.eazybytes.accounts.exception.ResourceNotFoundException;
 import com.eazybytes.accounts.mapper.AccountMapper;
 import com.eazybytes.accounts.mapper.CustomerMapper;
 import com.eazybytes.accounts.repository.AccountsRepository;
+import com.eazybytes.accounts.repository.CustomerAccountView;
 import com.eazybytes.accounts.repository.CustomerRepository;
+import com.eazybytes.accounts.repository.PrefixSearchPage;
+import com.eazybytes.accounts.repository.SearchKey;
+import com.eazybytes.accounts.resilience.PersistenceBudget;
 import com.eazybytes.accounts.service.IAccountsService;
+import com.eazybytes.accounts.sharding.ShardKeys;
+import com.eazybytes.accounts.sharding.ShardRouter;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
-import java.util.Random;
+import java.util.stream.IntStream;
 
+/**
+ * Every operation selects its shard inside the transactional method: the sharded datasource is lazy, so the
+ * connection is only resolved at the first query, after {@link ShardRouter} has set the shard for this thread.
+ * The transaction timeouts are the per-operation query timeouts; Hibernate applies what is left of the
+ * transaction's deadline to every statement it runs.
+ */
+@Slf4j
 @Service
 @AllArgsConstructor
 public class AccountServiceImpl implements IAccountsService {
 
+    private static final int REPAIR_ATTEMPTS = 3;
+
     private CustomerRepository customerRepository;
     private AccountsRepository accountsRepository;
+    private TransactionTemplate transactionTemplate;
+    private ShardRouter shardRouter;
 
     @Override
+    @PersistenceBudget("create")
+    @Transactional(timeoutString = "${accounts.persistence.queryTimeouts.create:-1}")
     public void createAccount(CustomerDto customerDto) {
-        Customer customer = CustomerMapper.mapToCustomer(customerDto, new Customer());
-        Optional<Customer> optionalCustomer = customerRepository.findByMobileNumber(customer.getMobileNumber());
-        if (optionalCustomer.isPresent()) {
-            throw new CustomerAlreadyExistsException("This Mobile number is already exists");
-        }
+        shardRouter.runOnShard(shardRouter.shardForMobileNumber(customerDto.mobileNumber()), () -> {
+            Customer customer = CustomerMapper.mapToCustomer(customerDto, new Customer());
+            Optional<Customer> optionalCustomer = customerRepository.findByMobileNumber(customer.getMobileNumber());
+            if (optionalCustomer.isPresent()) {
+                throw new CustomerAlreadyExistsException("This Mobile number is already exists");
+            }
 
-        Customer savedCustomer = customerRepository.save(customer);
-        Accounts newAccount = createNewAccount(savedCustomer);
-        accountsRepository.save(newAccount);
+            Customer savedCustomer = customerRepository.save(customer);
+            Accounts newAccount = createNewAccount(savedCustomer);
+            accountsRepository.save(newAccount);
+        });
     }
 
     private Accounts createNewAccount(Customer customer) {
         Accounts newAccount = new Accounts();
         newAccount.setCustomerId(customer.getCustomerId());
 
-        long randomAccNumber = 1000000000l + new Random().nextInt(900000000);
+        // only a sharded deployment needs the bucket in the number; otherwise keep the 10-digit format clients know
+        long randomAccNumber = shardRouter.shardCount() > 1
+                ? ShardKeys.newAccountNumber(ShardKeys.bucketOf(customer.getMobileNumber()))
+                : ShardKeys.newUnshardedAccountNumber();
         newAccount.setAccountNumber(randomAccNumber);
         newAccount.setAccountType(AccountsConstant.SAVINGS);
         newAccount.setBranchAddress(AccountsConstant.ADDRESS);
@@ -51,56 +85,72 @@ public class AccountServiceImpl implements IAccountsService {
     }
 
     @Override
+    @PersistenceBudget("fetch")
+    @Transactional(readOnly = true, timeoutString = "${accounts.persistence.queryTimeouts.fetch:-1}")
     public CustomerDto fetchAccount(String mobileNumber) {
+        return shardRouter.callOnShard(shardRouter.shardForMobileNumber(mobileNumber), () -> fetchFromShard(mobileNumber));
+    }
+
+    private CustomerDto fetchFromShard(String mobileNumber) {
+        // one join straight into the response, no managed entities on the read path
+        Optional<CustomerAccountView> view = customerRepository.findAccountViewByMobileNumber(mobileNumber);
+        if (view.isPresent()) {
+            return CustomerMapper.mapToCustomerDto(view.get());
+        }
+
         Customer customer = customerRepository.findByMobileNumber(mobileNumber)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Customer", "Mobile Number", mobileNumber)
                 );
+        throw new ResourceNotFoundException("Account", "customerId", customer.getCustomerId().toString());
+    }
 
-        Accounts accounts = accountsRepository.findByCustomerId(customer.getCustomerId())
+    @Override
+    @PersistenceBudget("update")
+    @Transactional(timeoutString = "${accounts.persistence.queryTimeouts.update:-1}")
+    public boolean updateAccount(CustomerDto customerDto) {
+        AccountsDto accountsDto = customerDto.accountsDto();
+        if (accountsDto == null) {
+            return false;
+        }
+        return shardRouter.callOnShard(shardRouter.shardForAccountNumber(accountsDto.accountNumber()),
+                () -> updateOnShard(customerDto, accountsDto));
+    }
+
+    private boolean updateOnShard(CustomerDto customerDto, AccountsDto accountsDto) {
+        Accounts accounts = accountsRepository.findById(accountsDto.accountNumber())
                 .orElseThrow(() ->
-                        new ResourceNotFoundException("Account", "customerId", customer.getCustomerId().toString()
+                        new ResourceNotFoundException("Account", "Account number", accountsDto.accountNumber().toString()
                         )
                 );
 
-        CustomerDto customerDto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
-        AccountsDto accountsDto = AccountMapper.mapToAccountsDto(accounts, new AccountsDto());
-        customerDto.setAccountsDto(accountsDto);
-
-        return customerDto;
-    }
+        Long customerId = accounts.getCustomerId();
 
-    @Override
-    public boolean updateAccount(CustomerDto customerDto) {
-        boolean isUpdated = false;
-        AccountsDto accountsDto = customerDto.getAccountsDto();
-        if (accountsDto != null) {
-            Accounts accounts = accountsRepository.findById(accountsDto.getAccountNumber())
-                    .orElseThrow(() ->
-                            new ResourceNotFoundException("Account", "Account number", accountsDto.getAccountNumber().toString()
-                            )
-                    );
-            AccountMapper.mapToAccounts(accountsDto, accounts);
-            accounts = accountsRepository.save(accounts);
-
-            Long customerId = accounts.getCustomerId();
-
-            Customer customer = customerRepository.findById(customerId).
-                    orElseThrow(() ->
-                            new ResourceNotFoundException("Customer", "customer id", customerId.toString())
-                    );
-
-            CustomerMapper.mapToCustomer(customerDto, customer);
-            customerRepository.save(customer);
-            isUpdated = true;
+        Customer customer = customerRepository.findById(customerId).
+                orElseThrow(() ->
+                        new ResourceNotFoundException("Customer", "customer id", customerId.toString())
+                );
+        // the mobile number picks the shard, so with more than one it can not change in place
+        if (shardRouter.shardCount() > 1 && !customer.getMobileNumber().equals(customerDto.mobileNumber())) {
+            throw new MobileNumberChangeNotAllowedException(customer.getMobileNumber(), customerDto.mobileNumber());
         }
 
-        return isUpdated;
+        AccountMapper.mapToAccounts(accountsDto, accounts);
+        accountsRepository.save(accounts);
+
+        CustomerMapper.mapToCustomer(customerDto, customer);
+        customerRepository.save(customer);
+        return true;
     }
 
     @Override
+    @PersistenceBudget("delete")
+    @Transactional(timeoutString = "${accounts.persistence.queryTimeouts.delete:-1}")
     public boolean deleteAccount(String mobileNumber) {
+        return shardRouter.callOnShard(shardRouter.shardForMobileNumber(mobileNumber), () -> deleteFromShard(mobileNumber));
+    }
 
+    private boolean deleteFromShard(String mobileNumber) {
         Customer customer = customerRepository.findByMobileNumber(mobileNumber)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Customer", "Mobile Number", mobileNumber)
@@ -117,4 +167,159 @@ public class AccountServiceImpl implements IAccountsService {
 
         return true;
     }
+
+    @Override
+    @PersistenceBudget("search")
+    @Transactional(readOnly = true, timeoutString = "${accounts.persistence.queryTimeouts.search:-1}")
+    public SearchResultDto searchAccounts(String name, String email, String accountType, String branchAddress,
+                                          String cursor, int pageSize) {
+        Cursor position = Cursor.parse(cursor);
+        if (position.shard() >= shardRouter.shardCount()) {
+            return new SearchResultDto(List.of(), null);
+        }
+        return shardRouter.callOnShard(position.shard(), () -> searchShard(name, email, accountType, branchAddress,
+                position, pageSize));
+    }
+
+    private SearchResultDto searchShard(String name, String email, String accountType, String branchAddress,
+                                        Cursor position, int pageSize) {
+        SearchKey key = SearchKey.driving(name, email, accountType, branchAddress);
+        PrefixSearchPage page = customerRepository.searchByPrefix(name, email, accountType, branchAddress,
+                position.afterKey(), position.afterCustomerId(), pageSize + 1);
+        List<CustomerAccountView> rows = page.rows();
+
+        String nextCursor;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            CustomerAccountView last = rows.get(pageSize - 1);
+            nextCursor = Cursor.format(position.shard(), last.customerId(), key.valueOf(last));
+        } else if (page.lastScanned() != null) {
+            // the scan bound was hit: a short, possibly empty page, and the next one carries on after the window
+            nextCursor = Cursor.format(position.shard(), page.lastScanned().customerId(), key.valueOf(page.lastScanned()));
+        } else {
+            nextCursor = nextShard(position.shard());
+        }
+
+        List<CustomerDto> results = rows.stream()
+                .map(CustomerMapper::mapToCustomerDto)
+                .toList();
+        return new SearchResultDto(results, nextCursor);
+    }
+
+    @Override
+    public List<String> exportCursors() {
+        return IntStream.range(0, shardRouter.shardCount())
+                .mapToObj(shard -> Cursor.format(shard, 0, null))
+                .toList();
+    }
+
+    @Override
+    @PersistenceBudget("export")
+    @Transactional(readOnly = true, timeoutString = "${accounts.persistence.queryTimeouts.export:-1}")
+    public SearchResultDto exportAccounts(String cursor, int pageSize) {
+        Cursor position = Cursor.parse(cursor);
+        if (position.shard() >= shardRouter.shardCount()) {
+            return new SearchResultDto(List.of(), null);
+        }
+        return shardRouter.callOnShard(position.shard(),
+                () -> exportShard(position.shard(), position.afterCustomerId(), pageSize));
+    }
+
+    private SearchResultDto exportShard(int shard, long afterCustomerId, int pageSize) {
+        // keyset page: each call holds one page in memory, however many customers the shard has
+        List<CustomerAccountView> rows = customerRepository.findAccountViewsAfter(afterCustomerId, PageRequest.of(0, pageSize));
+
+        // the cursor stays on this shard, every shard is walked separately
+        String nextCursor = rows.size() == pageSize
+                ? Cursor.format(shard, rows.get(pageSize - 1).customerId(), null)
+                : null;
+
+        List<CustomerDto> results = rows.stream()
+                .map(CustomerMapper::mapToCustomerDto)
+                .toList();
+        return new SearchResultDto(results, nextCursor);
+    }
+
+    private String nextShard(int shard) {
+        return shard + 1 < shardRouter.shardCount() ? Cursor.format(shard + 1, 0, null) : null;
+    }
+
+    @Override
+    public int repairOrphanCustomers(int batchSize) {
+        int repaired = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            repaired += shardRouter.callOnShard(shard, () -> repairOrphanCustomersOnShard(batchSize));
+        }
+        return repaired;
+    }
+
+    private int repairOrphanCustomersOnShard(int batchSize) {
+        int repaired = 0;
+        long afterCustomerId = 0;
+        while (true) {
+            List<Customer> orphans = customerRepository.findCustomersWithoutAccount(afterCustomerId, PageRequest.of(0, batchSize));
+            for (Customer orphan : orphans) {
+                if (repairOrphanCustomer(orphan)) {
+                    repaired++;
+                }
+            }
+            if (orphans.size() < batchSize) {
+                return repaired;
+            }
+            afterCustomerId = orphans.get(orphans.size() - 1).getCustomerId();
+        }
+    }
+
+    /**
+     * Every starting pod runs the repair, so on a rolling deploy several may reach the same orphan.
+     * The unique key on accounts.customer_id lets exactly one of them insert; the others back off.
+     * Any other integrity violation is the random account number already being taken, so that one
+     * is retried with a fresh number.
+     */
+    private boolean repairOrphanCustomer(Customer orphan) {
+        for (int attempt = 1; attempt <= REPAIR_ATTEMPTS; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> accountsRepository.insert(createNewAccount(orphan)));
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                if (accountsRepository.findByCustomerId(orphan.getCustomerId()).isPresent()) {
+                    return false;
+                }
+                log.debug("Account number taken while repairing customer {}, attempt {}", orphan.getCustomerId(), attempt);
+            }
+        }
+        log.warn("Could not repair customer {} after {} attempts, leaving it for the next start",
+                orphan.getCustomerId(), REPAIR_ATTEMPTS);
+        return false;
+    }
+
+    /**
+     * Position after the last row of a page: {@code <shard>:<customerId>[:<driving column value, base64url>]}.
+     */
+    private record Cursor(int shard, long afterCustomerId, String afterKey) {
+
+        static Cursor parse(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return new Cursor(0, 0, null);
+            }
+            try {
+                String[] parts = cursor.split(":", 3);
+                String afterKey = parts.length == 3
+                        ? new String(Base64.getUrlDecoder().decode(parts[2]), StandardCharsets.UTF_8)
+                        : null;
+                return new Cursor(Integer.parseInt(parts[0]), Long.parseLong(parts[1]), afterKey);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                // the controller only checks the shape, the key part can still be broken base64
+                throw new InvalidCursorException(e);
+            }
+        }
+
+        static String format(int shard, long afterCustomerId, String afterKey) {
+            String cursor = shard + ":" + afterCustomerId;
+            if (afterKey == null) {
+                return cursor;
+            }
+            return cursor + ":" + Base64.getUrlEncoder().withoutPadding().encodeToString(afterKey.getBytes(StandardCharsets.UTF_8));
+        }
+    }
 }
@@ -0,0 +1,220 @@
+package com.eazybytes.accounts.sharding;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline tool that moves customers and their accounts onto the shard they belong to under a new shard list.
+ * Run it with the service stopped:
+ * <pre>
+ * java -cp accounts.jar -Dloader.main=com.eazybytes.accounts.sharding.ReshardingTool \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher \
+ *      --source=jdbc:h2:file:./shard0,jdbc:h2:file:./shard1 \
+ *      --target=jdbc:h2:file:./shard0,jdbc:h2:file:./shard1,jdbc:h2:file:./shard2 \
+ *      --username=sa --password=
+ * </pre>
+ * Each customer is copied to its target shard and then deleted from the source, so a run that dies half way
+ * can simply be started again. Account numbers never change; they encode a bucket, not a shard.
+ */
+public final class ReshardingTool {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final List<String> sourceUrls;
+    private final List<String> targetUrls;
+    private final String username;
+    private final String password;
+
+    public ReshardingTool(List<String> sourceUrls, List<String> targetUrls, String username, String password) {
+        this.sourceUrls = List.copyOf(sourceUrls);
+        this.targetUrls = List.copyOf(targetUrls);
+        this.username = username;
+        this.password = password;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Map<String, String> options = parseOptions(args);
+        if (!options.containsKey("source") || !options.containsKey("target")) {
+            System.err.println("Usage: ReshardingTool --source=<url>[,<url>...] --target=<url>[,<url>...] "
+                    + "[--username=<user>] [--password=<password>]");
+            System.exit(2);
+        }
+        ReshardingTool tool = new ReshardingTool(
+                List.of(options.get("source").split(",")),
+                List.of(options.get("target").split(",")),
+                options.getOrDefault("username", "sa"),
+                options.getOrDefault("password", ""));
+        Map<String, Integer> moved = tool.run();
+        moved.forEach((source, count) -> System.out.printf("%s: moved %d customer(s)%n", source, count));
+    }
+
+    /**
+     * @return number of customers moved away from each source shard
+     */
+    public Map<String, Integer> run() throws SQLException {
+        Map<String, Integer> moved = new LinkedHashMap<>();
+        Map<String, Connection> targets = new HashMap<>();
+        try {
+            for (String targetUrl : targetUrls) {
+                targets.computeIfAbsent(targetUrl, this::connect);
+            }
+            for (String sourceUrl : sourceUrls) {
+                try (Connection source = connect(sourceUrl)) {
+                    moved.put(sourceUrl, drain(sourceUrl, source, targets));
+                }
+            }
+        } finally {
+            for (Connection target : targets.values()) {
+                target.close();
+            }
+        }
+        return moved;
+    }
+
+    private int drain(String sourceUrl, Connection source, Map<String, Connection> targets) throws SQLException {
+        int moved = 0;
+        long afterCustomerId = 0;
+        while (true) {
+            List<CustomerRow> batch = readBatch(source, afterCustomerId);
+            for (CustomerRow row : batch) {
+                String targetUrl = targetUrls.get(ShardKeys.shardOf(ShardKeys.bucketOf(row.mobileNumber()), targetUrls.size()));
+                if (!targetUrl.equals(sourceUrl)) {
+                    copy(row, targets.get(targetUrl));
+                    delete(row, source);
+                    moved++;
+                }
+            }
+            if (batch.size() < BATCH_SIZE) {
+                return moved;
+            }
+            afterCustomerId = batch.get(batch.size() - 1).customerId();
+        }
+    }
+
+    private List<CustomerRow> readBatch(Connection source, long afterCustomerId) throws SQLException {
+        String sql = "select c.customer_id, c.name, c.email, c.mobile_number, c.created_at, c.created_by, "
+                + "c.updated_at, c.updated_by, a.account_number, a.account_type, a.branch_address, "
+                + "a.created_at, a.created_by, a.updated_at, a.updated_by "
+                + "from customer c left join accounts a on a.customer_id = c.customer_id "
+                + "where c.customer_id > ? order by c.customer_id limit " + BATCH_SIZE;
+        List<CustomerRow> rows = new ArrayList<>();
+        try (PreparedStatement statement = source.prepareStatement(sql)) {
+            statement.setLong(1, afterCustomerId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    Object[] customer = new Object[7];
+                    for (int i = 0; i < customer.length; i++) {
+                        customer[i] = resultSet.getObject(2 + i);
+                    }
+                    Object[] account = null;
+                    if (resultSet.getObject(9) != null) {
+                        account = new Object[7];
+                        for (int i = 0; i < account.length; i++) {
+                            account[i] = resultSet.getObject(9 + i);
+                        }
+                    }
+                    rows.add(new CustomerRow(resultSet.getLong(1), resultSet.getString(4), customer, account));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private void copy(CustomerRow row, Connection target) throws SQLException {
+        try {
+            if (!exists(target, "select 1 from customer where mobile_number = ?", row.mobileNumber())) {
+                long customerId;
+                try (PreparedStatement insert = target.prepareStatement(
+                        "insert into customer (name, email, mobile_number, created_at, created_by, updated_at, updated_by) "
+                                + "values (?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+                    bind(insert, row.customer(), 1);
+                    insert.executeUpdate();
+                    try (ResultSet keys = insert.getGeneratedKeys()) {
+                        keys.next();
+                        customerId = keys.getLong(1);
+                    }
+                }
+                if (row.account() != null) {
+                    try (PreparedStatement insert = target.prepareStatement(
+                            "insert into accounts (customer_id, account_number, account_type, branch_address, "
+                                    + "created_at, created_by, updated_at, updated_by) values (?, ?, ?, ?, ?, ?, ?, ?)")) {
+                        insert.setLong(1, customerId);
+                        bind(insert, row.account(), 2);
+                        insert.executeUpdate();
+                    }
+                }
+            }
+            target.commit();
+        } catch (SQLException e) {
+            target.rollback();
+            throw e;
+        }
+    }
+
+    private void delete(CustomerRow row, Connection source) throws SQLException {
+        try {
+            try (PreparedStatement delete = source.prepareStatement("delete from accounts where customer_id = ?")) {
+                delete.setLong(1, row.customerId());
+                delete.executeUpdate();
+            }
+            try (PreparedStatement delete = source.prepareStatement("delete from customer where customer_id = ?")) {
+                delete.setLong(1, row.customerId());
+                delete.executeUpdate();
+            }
+            source.commit();
+        } catch (SQLException e) {
+            source.rollback();
+            throw e;
+        }
+    }
+
+    private static boolean exists(Connection connection, String sql, String value) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, value);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Object[] values, int firstIndex) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            statement.setObject(firstIndex + i, values[i]);
+        }
+    }
+
+    private Connection connect(String url) {
+        try {
+            Connection connection = DriverManager.getConnection(url, username, password);
+            connection.setAutoCommit(false);
+            return connection;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Can not connect to " + url, e);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * One customer with its account, if it has one. Column values are carried as-is between databases.
+     */
+    private record CustomerRow(long customerId, String mobileNumber, Object[] customer, Object[] account) {
+    }
+}
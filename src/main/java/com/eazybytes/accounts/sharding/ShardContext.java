@@ -0,0 +1,26 @@
+package com.eazybytes.accounts.sharding;
+
+/**
+ * Shard that JPA work on the current thread runs against; shard 0 when none was selected.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+
+    }
+
+    public static int current() {
+        Integer shard = CURRENT_SHARD.get();
+        return shard == null ? 0 : shard;
+    }
+
+    static void set(int shard) {
+        CURRENT_SHARD.set(shard);
+    }
+
+    static void clear() {
+        CURRENT_SHARD.remove();
+    }
+}
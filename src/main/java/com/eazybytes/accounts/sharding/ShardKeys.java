@@ -0,0 +1,68 @@
+package com.eazybytes.accounts.sharding;
+
+import java.util.OptionalInt;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Placement arithmetic shared by the service and the offline {@link ReshardingTool}.
+ * <p>
+ * A mobile number hashes into one of {@link #BUCKETS} fixed buckets, and buckets map onto shards with a
+ * jump consistent hash, so growing from N to N+1 shards only moves about 1/(N+1) of the buckets.
+ * New account numbers carry their bucket in the digits above {@link #ACCOUNT_NUMBER_STRIDE}
+ * (bucket 12 gives {@code 13_xxxxxxxxxx}); account numbers issued before sharding, and by an unsharded
+ * deployment, keep the original 10 digits below the stride.
+ */
+public final class ShardKeys {
+
+    public static final int BUCKETS = 1024;
+    public static final long ACCOUNT_NUMBER_STRIDE = 10_000_000_000L;
+
+    private ShardKeys() {
+
+    }
+
+    public static int bucketOf(String mobileNumber) {
+        long hash = 1125899906842597L;
+        for (int i = 0; i < mobileNumber.length(); i++) {
+            hash = 31 * hash + mobileNumber.charAt(i);
+        }
+        return (int) Math.floorMod(mix(hash), (long) BUCKETS);
+    }
+
+    public static int shardOf(int bucket, int shardCount) {
+        long key = bucket;
+        long candidate = -1;
+        long jump = 0;
+        while (jump < shardCount) {
+            candidate = jump;
+            key = key * 2862933555777941757L + 1;
+            jump = (long) ((candidate + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) candidate;
+    }
+
+    public static long newAccountNumber(int bucket) {
+        return (bucket + 1) * ACCOUNT_NUMBER_STRIDE + newUnshardedAccountNumber();
+    }
+
+    public static long newUnshardedAccountNumber() {
+        return 1_000_000_000L + ThreadLocalRandom.current().nextInt(900_000_000);
+    }
+
+    /**
+     * @return the bucket encoded in the account number, empty for account numbers issued before sharding
+     */
+    public static OptionalInt bucketOfAccountNumber(long accountNumber) {
+        long bucket = accountNumber / ACCOUNT_NUMBER_STRIDE - 1;
+        return bucket >= 0 && bucket < BUCKETS ? OptionalInt.of((int) bucket) : OptionalInt.empty();
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
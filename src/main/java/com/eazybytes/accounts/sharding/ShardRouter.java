@@ -0,0 +1,111 @@
+package com.eazybytes.accounts.sharding;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Decides which shard a customer lives on and runs work against it.
+ * An unsharded deployment is a single shard, so the service code path is the same either way.
+ * The router owns the shard pools and the scatter threads, and closes them when the context shuts down.
+ */
+public class ShardRouter implements DisposableBean {
+
+    private final List<DataSource> shards;
+    private final ExecutorService scatterExecutor;
+
+    public ShardRouter(List<? extends DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        this.scatterExecutor = shards.size() > 1 ? Executors.newFixedThreadPool(shards.size()) : null;
+    }
+
+    public static ShardRouter singleShard() {
+        return new ShardRouter(List.of());
+    }
+
+    public int shardCount() {
+        return Math.max(1, shards.size());
+    }
+
+    public List<DataSource> shardDataSources() {
+        return shards;
+    }
+
+    public int shardForMobileNumber(String mobileNumber) {
+        return ShardKeys.shardOf(ShardKeys.bucketOf(mobileNumber), shardCount());
+    }
+
+    /**
+     * Account numbers carry their bucket, so this is arithmetic. Only account numbers issued
+     * before sharding need a point lookup on each shard; 0 is returned when none has it.
+     */
+    public int shardForAccountNumber(long accountNumber) {
+        if (shardCount() == 1) {
+            return 0;
+        }
+        OptionalInt bucket = ShardKeys.bucketOfAccountNumber(accountNumber);
+        if (bucket.isPresent()) {
+            return ShardKeys.shardOf(bucket.getAsInt(), shardCount());
+        }
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Integer found = new JdbcTemplate(shards.get(shard)).queryForObject(
+                    "select count(*) from accounts where account_number = ?", Integer.class, accountNumber);
+            if (found != null && found > 0) {
+                return shard;
+            }
+        }
+        return 0;
+    }
+
+    public <T> T callOnShard(int shard, Supplier<T> work) {
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.clear();
+        }
+    }
+
+    public void runOnShard(int shard, Runnable work) {
+        callOnShard(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Starts the work on a pool with one thread per shard, so reads against different shards overlap.
+     * With a single shard there is nothing to overlap and the work runs in the caller.
+     */
+    public <T> CompletableFuture<T> scatter(Supplier<T> work) {
+        if (scatterExecutor == null) {
+            try {
+                return CompletableFuture.completedFuture(work.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(work, scatterExecutor);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdown();
+        }
+        for (DataSource shard : shards) {
+            if (shard instanceof DisposableBean readWriteRouting) {
+                readWriteRouting.destroy();
+            } else if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.eazybytes.accounts.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Empty or exactly 10 digits, same contract as the former {@code @Pattern(regexp = "^$|[0-9]{10}")}.
+ */
+@Documented
+@Constraint(validatedBy = MobileNumberValidator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.RECORD_COMPONENT})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MobileNumber {
+
+    String message() default "Mobile number must be 10 digits";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
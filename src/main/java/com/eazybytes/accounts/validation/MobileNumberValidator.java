@@ -0,0 +1,33 @@
+package com.eazybytes.accounts.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Length and character check on the raw chars: no regex engine, no Matcher allocation per request.
+ */
+public class MobileNumberValidator implements ConstraintValidator<MobileNumber, CharSequence> {
+
+    private static final int LENGTH = 10;
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return isValid(value);
+    }
+
+    public static boolean isValid(CharSequence value) {
+        if (value == null || value.length() == 0) {
+            return true;
+        }
+        if (value.length() != LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
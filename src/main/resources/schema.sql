@@ -1,7 +1,8 @@
+-- the searchable columns compare, sort and match prefixes without regard to case, and their indexes do the same
 create table if not exists `customer` (
-    `customer_id` int AUTO_INCREMENT PRIMARY KEY,
-    `name` varchar(100) not null,
-    `email` varchar(100) not null,
+    `customer_id` bigint AUTO_INCREMENT PRIMARY KEY,
+    `name` varchar_ignorecase(100) not null,
+    `email` varchar_ignorecase(100) not null,
     `mobile_number` varchar(20) not null,
     `created_at` date not null,
     `created_by` varchar(20) not null,
@@ -10,12 +11,20 @@ create table if not exists `customer` (
 );
 
 create table if not exists `accounts` (
-    `customer_id` int not null,
-    `account_number` int AUTO_INCREMENT PRIMARY KEY,
-    `account_type` varchar(100) not null,
-    `branch_address` varchar(100) not null,
+    `customer_id` bigint not null,
+    `account_number` bigint PRIMARY KEY,
+    `account_type` varchar_ignorecase(100) not null,
+    `branch_address` varchar_ignorecase(100) not null,
      `created_at` date not null,
      `created_by` varchar(20) not null,
      `updated_at` date default null,
      `updated_by` varchar(20) default null
-);
\ No newline at end of file
+);
+
+create index if not exists `idx_customer_mobile_number` on `customer` (`mobile_number`);
+create index if not exists `idx_customer_name` on `customer` (`name`);
+create index if not exists `idx_customer_email` on `customer` (`email`);
+-- one account per customer: also what keeps two pods repairing the same orphan from both creating one
+create unique index if not exists `uk_accounts_customer_id` on `accounts` (`customer_id`);
+create index if not exists `idx_accounts_account_type` on `accounts` (`account_type`);
+create index if not exists `idx_accounts_branch_address` on `accounts` (`branch_address`);
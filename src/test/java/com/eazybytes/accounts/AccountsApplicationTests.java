@@ -1,13 +1,45 @@
 package com.eazybytes.accounts;
 
+import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.exception.ResourceNotFoundException;
+import com.eazybytes.accounts.service.IAccountsService;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 @SpringBootTest
 class AccountsApplicationTests {
 
+	@Autowired
+	private IAccountsService iAccountsService;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void unshardedUpdateCanChangeTheMobileNumber() {
+		iAccountsService.createAccount(new CustomerDto("Moving Customer", "moving@example.com", "0155500001", null));
+		AccountsDto account = iAccountsService.fetchAccount("0155500001").accountsDto();
+
+		assertTrue(iAccountsService.updateAccount(
+				new CustomerDto("Moving Customer", "moving@example.com", "0155500002", account)));
+
+		assertEquals(account.accountNumber(), iAccountsService.fetchAccount("0155500002").accountsDto().accountNumber());
+		assertThrows(ResourceNotFoundException.class, () -> iAccountsService.fetchAccount("0155500001"));
+	}
+
+	@Test
+	void unshardedAccountNumbersKeepTenDigits() {
+		iAccountsService.createAccount(new CustomerDto("Ten Digit Customer", "tendigits@example.com", "0155500003", null));
+
+		long accountNumber = iAccountsService.fetchAccount("0155500003").accountsDto().accountNumber();
+		assertEquals(10, Long.toString(accountNumber).length());
+	}
+
 }
@@ -0,0 +1,106 @@
+package com.eazybytes.accounts.benchmark;
+
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.entity.Accounts;
+import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.mapper.CustomerMapper;
+import com.eazybytes.accounts.repository.CustomerAccountView;
+import com.eazybytes.accounts.validation.MobileNumberValidator;
+import lombok.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Per-request cost of the fetch mapping and mobile number check, before and after moving to records.
+ * The "legacy" side reproduces the old path: both entities populated, then copied field by field into
+ * mutable Lombok beans, with the {@code ^$|[0-9]{10}} regex that backed {@code @Pattern}.
+ * <pre>
+ * ./mvnw -Pjmh test-compile exec:exec
+ * </pre>
+ * and compare {@code gc.alloc.rate.norm} (bytes per operation) between the paired benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private static final Pattern LEGACY_MOBILE_NUMBER = Pattern.compile("^$|[0-9]{10}");
+
+    // column values as they come off the JDBC result set
+    private final Long customerId = 42L;
+    private final String name = "Mohamed Ibrahim";
+    private final String email = "mohamed@example.com";
+    private final String mobileNumber = "0123456789";
+    private final Long accountNumber = 131_234_567_890L;
+    private final String accountType = "Savings";
+    private final String branchAddress = "123 main street, montaza";
+
+    @Benchmark
+    public LegacyCustomerDto legacyFetchMapping() {
+        Customer customer = new Customer();
+        customer.setCustomerId(customerId);
+        customer.setName(name);
+        customer.setEmail(email);
+        customer.setMobileNumber(mobileNumber);
+        Accounts accounts = new Accounts();
+        accounts.setCustomerId(customerId);
+        accounts.setAccountNumber(accountNumber);
+        accounts.setAccountType(accountType);
+        accounts.setBranchAddress(branchAddress);
+
+        LegacyCustomerDto customerDto = new LegacyCustomerDto();
+        customerDto.setEmail(customer.getEmail());
+        customerDto.setName(customer.getName());
+        customerDto.setMobileNumber(customer.getMobileNumber());
+        LegacyAccountsDto accountsDto = new LegacyAccountsDto();
+        accountsDto.setAccountNumber(accounts.getAccountNumber());
+        accountsDto.setAccountType(accounts.getAccountType());
+        accountsDto.setBranchAddress(accounts.getBranchAddress());
+        customerDto.setAccountsDto(accountsDto);
+        return customerDto;
+    }
+
+    @Benchmark
+    public CustomerDto projectionFetchMapping() {
+        return CustomerMapper.mapToCustomerDto(new CustomerAccountView(
+                customerId, name, email, mobileNumber, accountNumber, accountType, branchAddress));
+    }
+
+    @Benchmark
+    public boolean legacyMobileNumberCheck() {
+        return LEGACY_MOBILE_NUMBER.matcher(mobileNumber).matches();
+    }
+
+    @Benchmark
+    public boolean mobileNumberCheck() {
+        return MobileNumberValidator.isValid(mobileNumber);
+    }
+
+    @Data
+    public static class LegacyCustomerDto {
+        private String name;
+        private String email;
+        private String mobileNumber;
+        private LegacyAccountsDto accountsDto;
+    }
+
+    @Data
+    public static class LegacyAccountsDto {
+        private Long accountNumber;
+        private String accountType;
+        private String branchAddress;
+    }
+}
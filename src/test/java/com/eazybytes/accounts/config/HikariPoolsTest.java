@@ -0,0 +1,72 @@
+package com.eazybytes.accounts.config;
+
+import com.eazybytes.accounts.AccountsApplication;
+import com.eazybytes.accounts.datasource.ReadWriteRoutingDataSource;
+import com.eazybytes.accounts.sharding.ShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HikariPoolsTest {
+
+    @Test
+    void replicaPoolsTakeHikariSettingsAndCloseWithTheContext() {
+        ConfigurableApplicationContext context = start(
+                "--spring.datasource.url=jdbc:h2:mem:pools-primary",
+                "--accounts.datasource.routing.enabled=true",
+                "--accounts.datasource.routing.replicas[0].url=jdbc:h2:mem:pools-replica");
+        List<HikariDataSource> pools = context.getBean(ReadWriteRoutingDataSource.class).getResolvedDataSources()
+                .values().stream()
+                .map(HikariDataSource.class::cast)
+                .toList();
+
+        assertPoolsConfiguredThenClosed(context, pools, 2);
+    }
+
+    @Test
+    void shardPoolsTakeHikariSettingsAndCloseWithTheContext() {
+        ConfigurableApplicationContext context = start(
+                "--accounts.sharding.enabled=true",
+                "--accounts.sharding.shards[0].url=jdbc:h2:mem:pools-shard0",
+                "--accounts.sharding.shards[1].url=jdbc:h2:mem:pools-shard1");
+        List<DataSource> shards = context.getBean(ShardRouter.class).shardDataSources();
+        List<HikariDataSource> pools = shards.stream().map(HikariDataSource.class::cast).toList();
+
+        assertPoolsConfiguredThenClosed(context, pools, 2);
+    }
+
+    private static void assertPoolsConfiguredThenClosed(ConfigurableApplicationContext context,
+                                                        List<HikariDataSource> pools, int expectedPools) {
+        assertEquals(expectedPools, pools.size());
+        for (HikariDataSource pool : pools) {
+            assertEquals(3_000, pool.getConnectionTimeout(), pool.getPoolName());
+            assertEquals(4, pool.getMaximumPoolSize(), pool.getPoolName());
+            assertFalse(pool.isClosed(), pool.getPoolName());
+        }
+        context.close();
+        pools.forEach(pool -> assertTrue(pool.isClosed(), pool.getPoolName()));
+    }
+
+    private static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(AccountsApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(concat(args, "--spring.datasource.hikari.maximumPoolSize=4",
+                        "--accounts.lifecycle.repairOrphansOnStartup=false"));
+    }
+
+    private static String[] concat(String[] args, String... more) {
+        String[] all = new String[args.length + more.length];
+        System.arraycopy(args, 0, all, 0, args.length);
+        System.arraycopy(more, 0, all, args.length, more.length);
+        return all;
+    }
+}
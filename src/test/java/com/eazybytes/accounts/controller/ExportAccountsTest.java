@@ -0,0 +1,59 @@
+package com.eazybytes.accounts.controller;
+
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.SearchResultDto;
+import com.eazybytes.accounts.exception.PersistenceUnavailableException;
+import com.eazybytes.accounts.service.IAccountsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "accounts.lifecycle.repairOrphansOnStartup=false")
+@AutoConfigureMockMvc
+class ExportAccountsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IAccountsService iAccountsService;
+
+    @Test
+    void failureOnTheFirstPageIsAnErrorResponse() throws Exception {
+        when(iAccountsService.exportCursors()).thenReturn(List.of("0:0"));
+        when(iAccountsService.exportAccounts(eq("0:0"), anyInt()))
+                .thenThrow(new PersistenceUnavailableException("Persistence is unavailable"));
+
+        mockMvc.perform(get("/api/export"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void failureAfterTheResponseStartedEndsTheArrayWithAnErrorMarker() throws Exception {
+        when(iAccountsService.exportCursors()).thenReturn(List.of("0:0"));
+        when(iAccountsService.exportAccounts(eq("0:0"), anyInt()))
+                .thenReturn(new SearchResultDto(List.of(new CustomerDto("Exported Customer", "exported@example.com",
+                        "0400000001", null)), "0:1"));
+        when(iAccountsService.exportAccounts(eq("0:1"), anyInt()))
+                .thenThrow(new PersistenceUnavailableException("Persistence is unavailable"));
+
+        mockMvc.perform(get("/api/export"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].mobileNumber").value("0400000001"))
+                .andExpect(jsonPath("$[1].exportError.errorCode").value("SERVICE_UNAVAILABLE"))
+                .andExpect(jsonPath("$[1].exportError.apiPath").value("uri=/api/export"));
+    }
+}
@@ -0,0 +1,200 @@
+package com.eazybytes.accounts.controller;
+
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.SearchResultDto;
+import com.eazybytes.accounts.service.IAccountsService;
+import com.eazybytes.accounts.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "accounts.sharding.enabled=true",
+        "accounts.sharding.shards[0].url=jdbc:h2:mem:search0;DB_CLOSE_DELAY=-1",
+        "accounts.sharding.shards[1].url=jdbc:h2:mem:search1;DB_CLOSE_DELAY=-1",
+        "accounts.search.maxScannedRows=" + SearchAccountsTest.MAX_SCANNED_ROWS
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchAccountsTest {
+
+    private static final int PAGED_CUSTOMERS = 12;
+    static final int MAX_SCANNED_ROWS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IAccountsService iAccountsService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, Integer> shardByName = new HashMap<>();
+
+    @BeforeAll
+    void seed() {
+        for (int i = 1; i <= PAGED_CUSTOMERS; i++) {
+            create(String.format("Paged Customer %02d", i), String.format("02%08d", i * 7919));
+        }
+        create("50% Discount Club", "0300000001");
+        create("50X Discount Club", "0300000002");
+        create("A_B Holdings", "0300000003");
+        create("AXB Holdings", "0300000004");
+        create("Back\\slash Ltd", "0300000005");
+        create("Backyard Ltd", "0300000006");
+    }
+
+    @Test
+    void likeWildcardsInThePrefixMatchLiterally() throws Exception {
+        assertEquals(List.of("50% Discount Club"), allNames("50%"));
+        assertEquals(List.of("A_B Holdings"), allNames("A_B"));
+        assertEquals(List.of("Back\\slash Ltd"), allNames("Back\\"));
+        assertEquals(List.of("Back\\slash Ltd", "Backyard Ltd"), allNames("Back"));
+    }
+
+    @Test
+    void cursorWalksPagesInNameOrderThenMovesToTheNextShard() throws Exception {
+        assertTrue(shardByName.values().stream().distinct().count() > 1, "seed data should span both shards");
+
+        List<String> names = new ArrayList<>();
+        List<Integer> pageShards = new ArrayList<>();
+        String cursor = null;
+        do {
+            SearchResultDto page = search("Paged", cursor, 5);
+            assertTrue(page.results().size() <= 5);
+            page.results().forEach(customerDto -> {
+                names.add(customerDto.name());
+                pageShards.add(shardByName.get(customerDto.name()));
+            });
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(PAGED_CUSTOMERS, names.size());
+        assertEquals(PAGED_CUSTOMERS, names.stream().distinct().count());
+        // shard by shard, and by name within a shard
+        for (int i = 1; i < names.size(); i++) {
+            int previousShard = pageShards.get(i - 1);
+            int shard = pageShards.get(i);
+            assertTrue(previousShard < shard || (previousShard == shard && names.get(i - 1).compareTo(names.get(i)) < 0),
+                    "out of order at " + names.get(i));
+        }
+    }
+
+    @Test
+    void secondaryFilterThatMatchesNothingStopsAtTheScanBound() throws Exception {
+        Map<Integer, Long> pagedPerShard = new HashMap<>();
+        shardByName.forEach((name, shard) -> {
+            if (name.startsWith("Paged")) {
+                pagedPerShard.merge(shard, 1L, Long::sum);
+            }
+        });
+
+        int pages = 0;
+        String cursor = null;
+        do {
+            SearchResultDto page = search(Map.of("name", "Paged", "email", "zz"), cursor, 20);
+            assertEquals(List.of(), page.results());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // every page walked at most MAX_SCANNED_ROWS index entries, so a shard takes one page per window
+        long expectedPages = pagedPerShard.values().stream()
+                .mapToLong(count -> count / MAX_SCANNED_ROWS + 1)
+                .sum();
+        assertEquals(expectedPages, pages);
+    }
+
+    @Test
+    void secondaryFilterFindsEveryMatchAcrossShortPages() throws Exception {
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            SearchResultDto page = search(Map.of("name", "Paged", "email", "search@"), cursor, 20);
+            assertTrue(page.results().size() <= MAX_SCANNED_ROWS);
+            page.results().stream().map(CustomerDto::name).forEach(names::add);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(PAGED_CUSTOMERS, names.size());
+        assertEquals(PAGED_CUSTOMERS, names.stream().distinct().count());
+    }
+
+    @Test
+    void prefixMatchIgnoresCase() throws Exception {
+        assertEquals(PAGED_CUSTOMERS, allNames("paged customer").size());
+        assertEquals(PAGED_CUSTOMERS, allNames("PAGED").size());
+        assertEquals(List.of("AXB Holdings"), allNames("axb"));
+    }
+
+    @Test
+    void malformedCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/api/search").param("name", "Paged").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.cursor").exists());
+    }
+
+    @Test
+    void cursorWithBrokenKeyIsRejected() throws Exception {
+        mockMvc.perform(get("/api/search").param("name", "Paged").param("cursor", "0:0:A"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.cursor").value("Cursor must be a nextCursor value returned by a previous search"));
+    }
+
+    private List<String> allNames(String namePrefix) throws Exception {
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            SearchResultDto page = search(namePrefix, cursor, 20);
+            page.results().stream().map(CustomerDto::name).forEach(names::add);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        names.sort(Comparator.naturalOrder());
+        return names;
+    }
+
+    private SearchResultDto search(String namePrefix, String cursor, int size) throws Exception {
+        return search(Map.of("name", namePrefix), cursor, size);
+    }
+
+    private SearchResultDto search(Map<String, String> filters, String cursor, int size) throws Exception {
+        var request = get("/api/search").param("size", Integer.toString(size));
+        filters.forEach(request::param);
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        SearchResultDto page = objectMapper.readValue(body, SearchResultDto.class);
+        assertNotNull(page.results());
+        return page;
+    }
+
+    private void create(String name, String mobileNumber) {
+        iAccountsService.createAccount(new CustomerDto(name, "search@example.com", mobileNumber, null));
+        shardByName.put(name, shardRouter.shardForMobileNumber(mobileNumber));
+    }
+}
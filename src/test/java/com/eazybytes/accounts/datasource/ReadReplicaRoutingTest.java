@@ -0,0 +1,100 @@
+package com.eazybytes.accounts.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The primary and the replica are separate H2 databases that do not replicate, so the customer name
+ * in a fetch response shows which of them served it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routed-primary;DB_CLOSE_DELAY=-1",
+        "accounts.datasource.routing.enabled=true",
+        "accounts.datasource.routing.stickinessWindow=5s",
+        "accounts.datasource.routing.replicas[0].url=jdbc:h2:mem:routed-replica;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    private static final String MOBILE_NUMBER = "0112233445";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final JdbcTemplate replica =
+            new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:routed-replica;DB_CLOSE_DELAY=-1", "sa", ""));
+
+    @BeforeEach
+    void seedReplica() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replica.getDataSource());
+        replica.update("delete from accounts");
+        replica.update("delete from customer");
+        replica.update("insert into customer (customer_id, name, email, mobile_number, created_at, created_by) " +
+                "values (1, 'Replica Customer', 'replica@example.com', ?, current_date, 'TEST')", MOBILE_NUMBER);
+        replica.update("insert into accounts (customer_id, account_number, account_type, branch_address, created_at, created_by) " +
+                "values (1, 1000000001, 'Savings', 'Replica Street', current_date, 'TEST')");
+    }
+
+    @Test
+    void readsGoToTheReplicaUnlessTheClientWroteRecently() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Primary Customer\",\"email\":\"primary@example.com\",\"mobileNumber\":\"" + MOBILE_NUMBER + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Cookie lastWrite = created.getResponse().getCookie(ReadAfterWriteFilter.LAST_WRITE_COOKIE);
+        assertNotNull(lastWrite);
+
+        mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER).cookie(lastWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Primary Customer"));
+
+        mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Replica Customer"));
+
+        Cookie staleWrite = new Cookie(ReadAfterWriteFilter.LAST_WRITE_COOKIE,
+                Long.toString(System.currentTimeMillis() - 10_000));
+        mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER).cookie(staleWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Replica Customer"));
+
+        assertEquals(1, replica.queryForObject("select count(*) from customer", Integer.class));
+    }
+
+    @Test
+    void failedWritesAndFutureWriteTimesDoNotPinToThePrimary() throws Exception {
+        String otherMobileNumber = "0112233446";
+        String customer = "{\"name\":\"Other Customer\",\"email\":\"other@example.com\",\"mobileNumber\":\"" + otherMobileNumber + "\"}";
+        mockMvc.perform(post("/api/create").contentType(MediaType.APPLICATION_JSON).content(customer));
+
+        MvcResult duplicate = mockMvc.perform(post("/api/create").contentType(MediaType.APPLICATION_JSON).content(customer))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        assertNull(duplicate.getResponse().getCookie(ReadAfterWriteFilter.LAST_WRITE_COOKIE));
+
+        Cookie futureWrite = new Cookie(ReadAfterWriteFilter.LAST_WRITE_COOKIE, Long.toString(Long.MAX_VALUE));
+        mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER).cookie(futureWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Replica Customer"));
+    }
+}
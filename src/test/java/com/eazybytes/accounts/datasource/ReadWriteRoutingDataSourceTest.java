@@ -0,0 +1,81 @@
+package com.eazybytes.accounts.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        HikariDataSource primary = h2("primary");
+        List<HikariDataSource> replicas = List.of(h2("replica-a"), h2("replica-b"));
+        ReplicaSelector selector = new ReplicaSelector(replicas, ReplicaSelection.ROUND_ROBIN);
+        ReadWriteRoutingDataSource router = new ReadWriteRoutingDataSource(primary, replicas, selector);
+        router.afterPropertiesSet();
+        dataSource = new LazyConnectionDataSourceProxy(router);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadAfterWriteContext.clear();
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void writeTransactionsGoToPrimary() {
+        assertEquals("primary", node());
+    }
+
+    @Test
+    void readOnlyTransactionsRotateOverReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        String first = node();
+        String second = node();
+
+        assertTrue(first.startsWith("replica-") && second.startsWith("replica-"));
+        assertNotEquals(first, second);
+        assertEquals(first, node());
+    }
+
+    @Test
+    void recentWriterReadsFromPrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReadAfterWriteContext.pinToPrimary();
+
+        assertEquals("primary", node());
+    }
+
+    private String node() {
+        return new JdbcTemplate(dataSource).queryForObject("select name from node", String.class);
+    }
+
+    private HikariDataSource h2(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pools.add(pool);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(pool);
+        jdbcTemplate.execute("create table if not exists node (name varchar(20))");
+        jdbcTemplate.execute("delete from node");
+        jdbcTemplate.update("insert into node values (?)", name);
+        return pool;
+    }
+}
@@ -0,0 +1,80 @@
+package com.eazybytes.accounts.lifecycle;
+
+import com.eazybytes.accounts.config.LifecycleProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GracefulDrainLifecycleTest {
+
+    private final InFlightRequestTracker tracker = new InFlightRequestTracker();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void stopsAtOnceWhenNothingIsInFlight() {
+        GracefulDrainLifecycle lifecycle = lifecycle(Duration.ofSeconds(5));
+        lifecycle.start();
+        lifecycle.stop();
+
+        assertTrue(tracker.isDraining());
+        assertFalse(lifecycle.isRunning());
+        assertEquals(1, drainTimer().count());
+        assertTrue(drainTimer().totalTime(TimeUnit.MILLISECONDS) < 1_000);
+    }
+
+    @Test
+    void waitsForInFlightRequestsToFinish() throws Exception {
+        GracefulDrainLifecycle lifecycle = lifecycle(Duration.ofSeconds(5));
+        lifecycle.start();
+        assertTrue(tracker.tryEnter());
+        Thread request = new Thread(() -> {
+            sleep(300);
+            tracker.exit();
+        });
+        request.start();
+
+        lifecycle.stop();
+        request.join();
+
+        assertEquals(0, tracker.getInFlight());
+        double drained = drainTimer().totalTime(TimeUnit.MILLISECONDS);
+        assertTrue(drained >= 250 && drained < 5_000, "drained in " + drained + " ms");
+    }
+
+    @Test
+    void givesUpAtTheDrainDeadline() {
+        GracefulDrainLifecycle lifecycle = lifecycle(Duration.ofMillis(300));
+        lifecycle.start();
+        assertTrue(tracker.tryEnter());
+
+        lifecycle.stop();
+
+        assertEquals(1, tracker.getInFlight());
+        assertFalse(lifecycle.isRunning());
+        double drained = drainTimer().totalTime(TimeUnit.MILLISECONDS);
+        assertTrue(drained >= 300 && drained < 2_000, "drained in " + drained + " ms");
+    }
+
+    private GracefulDrainLifecycle lifecycle(Duration drainTimeout) {
+        return new GracefulDrainLifecycle(tracker, new LifecycleProperties(drainTimeout, true, 100), meterRegistry);
+    }
+
+    private Timer drainTimer() {
+        return meterRegistry.get("accounts.shutdown.drain").timer();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
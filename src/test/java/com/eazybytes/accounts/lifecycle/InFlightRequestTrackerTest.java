@@ -0,0 +1,95 @@
+package com.eazybytes.accounts.lifecycle;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InFlightRequestTrackerTest {
+
+    @Test
+    void countsAdmittedRequestsUntilDraining() {
+        InFlightRequestTracker tracker = new InFlightRequestTracker();
+        assertTrue(tracker.tryEnter());
+        assertTrue(tracker.tryEnter());
+        assertEquals(2, tracker.getInFlight());
+        tracker.exit();
+
+        tracker.startDraining();
+        assertFalse(tracker.tryEnter());
+        assertEquals(1, tracker.getInFlight());
+        tracker.exit();
+        assertEquals(0, tracker.getInFlight());
+    }
+
+    @Test
+    void requestsRacingWithDrainAreEitherCountedOrRejected() throws Exception {
+        InFlightRequestTracker tracker = new InFlightRequestTracker();
+        AtomicInteger violations = new AtomicInteger();
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(8);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread worker = new Thread(() -> {
+                running.countDown();
+                for (int request = 0; request < 200_000; request++) {
+                    boolean drainingBefore = tracker.isDraining();
+                    if (tracker.tryEnter()) {
+                        admitted.incrementAndGet();
+                        // an admitted request must be visible to the drain loop, and none may slip in after draining began
+                        if (drainingBefore || tracker.getInFlight() < 1) {
+                            violations.incrementAndGet();
+                        }
+                        tracker.exit();
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        running.await();
+        Thread.sleep(5);
+        tracker.startDraining();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(0, violations.get());
+        assertTrue(admitted.get() > 0);
+        assertEquals(0, tracker.getInFlight());
+    }
+
+    @Test
+    void filterAnswers503WhileDraining() throws Exception {
+        InFlightRequestTracker tracker = new InFlightRequestTracker();
+        InFlightRequestFilter filter = new InFlightRequestFilter(tracker);
+
+        MockHttpServletResponse served = new MockHttpServletResponse();
+        AtomicInteger inFlightDuringRequest = new AtomicInteger();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/fetch"), served,
+                (request, response) -> inFlightDuringRequest.set(tracker.getInFlight()));
+        assertEquals(200, served.getStatus());
+        assertEquals(1, inFlightDuringRequest.get());
+        assertEquals(0, tracker.getInFlight());
+
+        tracker.startDraining();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/fetch"), rejected, chain);
+        assertEquals(503, rejected.getStatus());
+        assertEquals("close", rejected.getHeader(HttpHeaders.CONNECTION));
+        assertNull(chain.getRequest());
+        assertEquals(0, tracker.getInFlight());
+    }
+}
@@ -0,0 +1,138 @@
+package com.eazybytes.accounts.lifecycle;
+
+import com.eazybytes.accounts.service.IAccountsService;
+import com.eazybytes.accounts.sharding.ShardKeys;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mockStatic;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:orphans",
+        "accounts.lifecycle.repairBatchSize=3"
+})
+class OrphanCustomerRepairTest {
+
+    @Autowired
+    private OrphanCustomerRepairRunner repairRunner;
+
+    @Autowired
+    private IAccountsService iAccountsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void emptyTables() {
+        jdbcTemplate.update("delete from accounts");
+        jdbcTemplate.update("delete from customer");
+    }
+
+    @Test
+    void repairsOrphansAcrossBatchesEndingOnAnExactMultiple() throws Exception {
+        seedCustomerWithAccount(1);
+        seedOrphans(2, 7);
+        seedCustomerWithAccount(8);
+
+        double before = repairedCount();
+        repairRunner.run(null);
+
+        assertEquals(6, repairedCount() - before);
+        assertEquals(0, orphanCount());
+        assertEquals(8, accountCount());
+
+        repairRunner.run(null);
+        assertEquals(6, repairedCount() - before);
+    }
+
+    @Test
+    void concurrentRepairsCreateOneAccountPerCustomer() throws Exception {
+        seedOrphans(1, 20);
+
+        CyclicBarrier start = new CyclicBarrier(2);
+        List<CompletableFuture<Integer>> pods = List.of(
+                CompletableFuture.supplyAsync(() -> repairAfter(start)),
+                CompletableFuture.supplyAsync(() -> repairAfter(start)));
+        int repaired = pods.stream().mapToInt(CompletableFuture::join).sum();
+
+        assertEquals(20, repaired);
+        assertEquals(0, orphanCount());
+        assertEquals(20, accountCount());
+    }
+
+    @Test
+    void takenAccountNumberIsRetriedWithoutTouchingTheExistingAccount() throws Exception {
+        seedCustomerWithAccount(1);
+        seedOrphans(2, 2);
+
+        double before = repairedCount();
+        try (MockedStatic<ShardKeys> shardKeys = mockStatic(ShardKeys.class, CALLS_REAL_METHODS)) {
+            shardKeys.when(ShardKeys::newUnshardedAccountNumber).thenReturn(1_000_000_001L, 1_000_000_777L);
+            repairRunner.run(null);
+        }
+
+        assertEquals(1, repairedCount() - before);
+        assertEquals(0, orphanCount());
+        assertEquals(1_000_000_001L, accountNumberOf(1));
+        assertEquals(1_000_000_777L, accountNumberOf(2));
+    }
+
+    private int repairAfter(CyclicBarrier start) {
+        try {
+            start.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return iAccountsService.repairOrphanCustomers(3);
+    }
+
+    private void seedOrphans(long firstCustomerId, long lastCustomerId) {
+        for (long customerId = firstCustomerId; customerId <= lastCustomerId; customerId++) {
+            seedCustomer(customerId);
+        }
+    }
+
+    private void seedCustomerWithAccount(long customerId) {
+        seedCustomer(customerId);
+        jdbcTemplate.update("insert into accounts (customer_id, account_number, account_type, branch_address, created_at, created_by) " +
+                "values (?, ?, 'Savings', 'Main Street', current_date, 'TEST')", customerId, 1_000_000_000L + customerId);
+    }
+
+    private void seedCustomer(long customerId) {
+        jdbcTemplate.update("insert into customer (customer_id, name, email, mobile_number, created_at, created_by) " +
+                "values (?, ?, ?, ?, current_date, 'TEST')",
+                customerId, "Customer " + customerId, "customer" + customerId + "@example.com", String.format("%010d", customerId));
+    }
+
+    private int orphanCount() {
+        return jdbcTemplate.queryForObject("select count(*) from customer c where not exists " +
+                "(select 1 from accounts a where a.customer_id = c.customer_id)", Integer.class);
+    }
+
+    private long accountNumberOf(long customerId) {
+        return jdbcTemplate.queryForObject("select account_number from accounts where customer_id = ?",
+                Long.class, customerId);
+    }
+
+    private int accountCount() {
+        return jdbcTemplate.queryForObject("select count(*) from accounts", Integer.class);
+    }
+
+    private double repairedCount() {
+        return meterRegistry.counter("accounts.orphans.repaired").count();
+    }
+}
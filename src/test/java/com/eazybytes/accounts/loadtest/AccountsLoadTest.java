@@ -0,0 +1,240 @@
+package com.eazybytes.accounts.loadtest;
+
+import com.eazybytes.accounts.loadtest.TrafficMix.Operation;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Closed-loop load generator against a real instance of the service on a local H2 file database.
+ * Excluded from the default build; run with {@code ./mvnw test -Ploadtest} and tune with {@code -Dloadtest.*}.
+ */
+@Tag("loadtest")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:file:./target/loadtest/accounts",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.sql.init.mode=never"
+        })
+class AccountsLoadTest {
+
+    private static final String[] MOBILE_PREFIXES = {"010", "011", "012", "015"};
+    private static final int CHURN_SUFFIX_START = 5_000_000;
+    private static final Pattern ACCOUNT_NUMBER = Pattern.compile("\"accountNumber\":(\\d+)");
+
+    @LocalServerPort
+    private int port;
+
+    private final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<String, Long> accountNumbers = new ConcurrentHashMap<>();
+    private final Queue<String> churnedMobileNumbers = new ConcurrentLinkedQueue<>();
+    private final AtomicLong churnSequence = new AtomicLong(CHURN_SUFFIX_START);
+
+    private List<String> hotMobileNumbers;
+    private ZipfDistribution zipf;
+
+    @Test
+    void sustainsTrafficWithinSlo() throws Exception {
+        hotMobileNumbers = hotMobileNumbers(settings.hotKeys());
+        zipf = new ZipfDistribution(hotMobileNumbers.size(), settings.zipfExponent());
+
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency());
+        try {
+            preload(workers);
+            runFor(workers, settings.warmup(), 1);
+            long start = System.nanoTime();
+            List<Map<Operation, LatencyRecorder>> recorders = runFor(workers, settings.duration(), 2);
+            LoadReport report = new LoadReport(recorders, Duration.ofNanos(System.nanoTime() - start));
+
+            String rendered = report.render(settings);
+            System.out.println(rendered);
+            Path reportFile = Path.of("target", "loadtest", "report.txt");
+            Files.createDirectories(reportFile.getParent());
+            Files.writeString(reportFile, rendered);
+
+            List<String> violations = report.sloViolations(settings);
+            assertTrue(violations.isEmpty(), "SLO violated: " + violations);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void preload(ExecutorService workers) throws Exception {
+        List<Future<?>> pending = new ArrayList<>();
+        for (String mobileNumber : hotMobileNumbers) {
+            pending.add(workers.submit(() -> {
+                send(createRequest(mobileNumber));
+                accountNumbers.put(mobileNumber, fetchAccountNumber(mobileNumber));
+                return null;
+            }));
+        }
+        for (Future<?> future : pending) {
+            future.get();
+        }
+    }
+
+    private List<Map<Operation, LatencyRecorder>> runFor(ExecutorService workers, Duration duration, long seed)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Map<Operation, LatencyRecorder>>> pending = new ArrayList<>();
+        for (int worker = 0; worker < settings.concurrency(); worker++) {
+            SplittableRandom random = new SplittableRandom(seed * 1_000 + worker);
+            pending.add(workers.submit(() -> generate(random, deadline)));
+        }
+        List<Map<Operation, LatencyRecorder>> results = new ArrayList<>();
+        for (Future<Map<Operation, LatencyRecorder>> future : pending) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private Map<Operation, LatencyRecorder> generate(SplittableRandom random, long deadline) {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        while (System.nanoTime() - deadline < 0) {
+            Operation operation = settings.mix().next(random);
+            String churnNumber = operation == Operation.CREATE ? nextChurnNumber(random) : null;
+            HttpRequest request = nextRequest(operation, churnNumber, random);
+            if (request == null) {
+                continue;
+            }
+            LatencyRecorder recorder = recorders.computeIfAbsent(operation, key -> new LatencyRecorder());
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                long elapsed = System.nanoTime() - start;
+                if (response.statusCode() / 100 == 2) {
+                    recorder.record(elapsed);
+                    if (churnNumber != null) {
+                        // only deletable once the create has committed
+                        churnedMobileNumbers.add(churnNumber);
+                    }
+                } else {
+                    recorder.recordError();
+                }
+            } catch (IOException e) {
+                recorder.recordError();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return recorders;
+    }
+
+    private HttpRequest nextRequest(Operation operation, String churnNumber, SplittableRandom random) {
+        switch (operation) {
+            case FETCH:
+                return HttpRequest.newBuilder(uri("/api/fetch?mobileNumber=" + hotKey(random))).GET().build();
+            case UPDATE:
+                String mobileNumber = hotKey(random);
+                return updateRequest(mobileNumber, accountNumbers.get(mobileNumber), random);
+            case CREATE:
+                return createRequest(churnNumber);
+            case DELETE:
+                String deleted = churnedMobileNumbers.poll();
+                return deleted == null ? null
+                        : HttpRequest.newBuilder(uri("/api/delete?mobileNumber=" + deleted)).DELETE().build();
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+    }
+
+    private String nextChurnNumber(SplittableRandom random) {
+        return MOBILE_PREFIXES[random.nextInt(MOBILE_PREFIXES.length)]
+                + String.format("%07d", churnSequence.getAndIncrement());
+    }
+
+    private String hotKey(SplittableRandom random) {
+        return hotMobileNumbers.get(zipf.sample(random));
+    }
+
+    private HttpRequest createRequest(String mobileNumber) {
+        return jsonRequest("/api/create", "POST", String.format(
+                "{\"name\":\"Customer %s\",\"email\":\"c%s@example.com\",\"mobileNumber\":\"%s\"}",
+                mobileNumber, mobileNumber, mobileNumber));
+    }
+
+    private HttpRequest updateRequest(String mobileNumber, long accountNumber, SplittableRandom random) {
+        String accountType = random.nextBoolean() ? "Savings" : "Current";
+        return jsonRequest("/api/update", "PUT", String.format(
+                "{\"name\":\"Customer %s\",\"email\":\"c%s@example.com\",\"mobileNumber\":\"%s\"," +
+                        "\"accountsDto\":{\"accountNumber\":%d,\"accountType\":\"%s\",\"branchAddress\":\"Branch %d\"}}",
+                mobileNumber, mobileNumber, mobileNumber, accountNumber, accountType, random.nextInt(50)));
+    }
+
+    private HttpRequest jsonRequest(String path, String method, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private long fetchAccountNumber(String mobileNumber) throws IOException, InterruptedException {
+        String body = send(HttpRequest.newBuilder(uri("/api/fetch?mobileNumber=" + mobileNumber)).GET().build());
+        Matcher matcher = ACCOUNT_NUMBER.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No account number in response: " + body);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(request.uri() + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private URI uri(String pathAndQuery) {
+        return URI.create("http://localhost:" + port + pathAndQuery);
+    }
+
+    /**
+     * Distinct, deterministic 10-digit mobile numbers spread over the usual operator prefixes.
+     */
+    private static List<String> hotMobileNumbers(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        Set<String> numbers = new LinkedHashSet<>();
+        while (numbers.size() < count) {
+            numbers.add(MOBILE_PREFIXES[random.nextInt(MOBILE_PREFIXES.length)]
+                    + String.format("%07d", random.nextInt(CHURN_SUFFIX_START)));
+        }
+        return new ArrayList<>(numbers);
+    }
+}
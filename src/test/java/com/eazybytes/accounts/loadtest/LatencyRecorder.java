@@ -0,0 +1,65 @@
+package com.eazybytes.accounts.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Raw latency samples for one operation on one worker thread. Workers never share a recorder,
+ * so recording is a plain array append; recorders are merged once the run is over.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[4_096];
+    private int size;
+    private long errors;
+
+    void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    void mergeFrom(LatencyRecorder other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.samples[i]);
+        }
+        errors += other.errors;
+    }
+
+    long count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * @return latency percentiles in milliseconds: p50, p95, p99, max
+     */
+    double[] percentilesMillis() {
+        if (size == 0) {
+            return new double[4];
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return new double[]{
+                toMillis(sorted[index(0.50)]),
+                toMillis(sorted[index(0.95)]),
+                toMillis(sorted[index(0.99)]),
+                toMillis(sorted[size - 1])
+        };
+    }
+
+    private int index(double percentile) {
+        return Math.min(size - 1, (int) Math.ceil(percentile * size) - 1);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,93 @@
+package com.eazybytes.accounts.loadtest;
+
+import com.eazybytes.accounts.loadtest.TrafficMix.Operation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Latency/throughput summary of a measured run, checked against the SLO thresholds in {@link LoadTestSettings}.
+ */
+final class LoadReport {
+
+    private final Map<Operation, LatencyRecorder> byOperation = new EnumMap<>(Operation.class);
+    private final LatencyRecorder overall = new LatencyRecorder();
+    private final Duration elapsed;
+
+    LoadReport(List<Map<Operation, LatencyRecorder>> perWorker, Duration elapsed) {
+        this.elapsed = elapsed;
+        for (Map<Operation, LatencyRecorder> worker : perWorker) {
+            worker.forEach((operation, recorder) -> {
+                byOperation.computeIfAbsent(operation, key -> new LatencyRecorder()).mergeFrom(recorder);
+                overall.mergeFrom(recorder);
+            });
+        }
+    }
+
+    /**
+     * @return successful requests per second; fast failures must not make an instance look faster
+     */
+    double throughput() {
+        return overall.count() / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    double errorRate() {
+        long total = overall.count() + overall.errors();
+        return total == 0 ? 0 : (double) overall.errors() / total;
+    }
+
+    String render(LoadTestSettings settings) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%nLoad test: %d workers, %ds measured, mix %s, zipf s=%.2f over %d hot keys%n",
+                settings.concurrency(), elapsed.toSeconds(), settings.mix(), settings.zipfExponent(), settings.hotKeys()));
+        out.append(String.format(Locale.ROOT, "%-8s %9s %7s %10s %10s %10s %10s %10s%n",
+                "op", "ok", "errors", "ok/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        byOperation.forEach((operation, recorder) -> appendRow(out, operation.name(), recorder));
+        appendRow(out, "ALL", overall);
+        return out.toString();
+    }
+
+    /**
+     * @return one line per violated threshold; empty when the run meets its SLO
+     */
+    List<String> sloViolations(LoadTestSettings settings) {
+        List<String> violations = new ArrayList<>();
+        if (settings.sloMinThroughput().isEmpty()) {
+            violations.add(String.format(Locale.ROOT, "no throughput target given (-Dloadtest.slo.minThroughput), measured %.1f req/s",
+                    throughput()));
+        } else if (throughput() < settings.sloMinThroughput().getAsDouble()) {
+            violations.add(String.format(Locale.ROOT, "throughput %.1f req/s is below %.1f req/s",
+                    throughput(), settings.sloMinThroughput().getAsDouble()));
+        }
+        if (errorRate() > settings.sloMaxErrorRate()) {
+            violations.add(String.format(Locale.ROOT, "error rate %.4f exceeds %.4f",
+                    errorRate(), settings.sloMaxErrorRate()));
+        }
+        if (settings.sloP99Millis().isEmpty()) {
+            violations.add(String.format(Locale.ROOT, "no latency target given (-Dloadtest.slo.p99Millis), measured p99 %.1f ms",
+                    overall.percentilesMillis()[2]));
+            return violations;
+        }
+        double sloP99Millis = settings.sloP99Millis().getAsDouble();
+        byOperation.forEach((operation, recorder) -> {
+            double p99 = recorder.percentilesMillis()[2];
+            if (p99 > sloP99Millis) {
+                violations.add(String.format(Locale.ROOT, "%s p99 %.1f ms exceeds %.1f ms",
+                        operation, p99, sloP99Millis));
+            }
+        });
+        return violations;
+    }
+
+    private void appendRow(StringBuilder out, String label, LatencyRecorder recorder) {
+        double[] percentiles = recorder.percentilesMillis();
+        double rate = recorder.count() / (elapsed.toNanos() / 1_000_000_000.0);
+        out.append(String.format(Locale.ROOT, "%-8s %9d %7d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                label, recorder.count(), recorder.errors(), rate,
+                percentiles[0], percentiles[1], percentiles[2], percentiles[3]));
+    }
+}
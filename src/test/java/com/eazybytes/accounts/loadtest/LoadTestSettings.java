@@ -0,0 +1,47 @@
+package com.eazybytes.accounts.loadtest;
+
+import java.time.Duration;
+import java.util.OptionalDouble;
+
+/**
+ * Knobs for {@link AccountsLoadTest}, read from {@code -Dloadtest.*} system properties so a run
+ * can be reshaped from the command line without touching the code.
+ * <p>
+ * The latency and throughput targets have no defaults: they only mean something for the machine
+ * they were measured on. Take them from the {@code target/loadtest/report.txt} of a baseline run on
+ * the same hardware and settings; a run without them still measures, then fails asking for them.
+ */
+record LoadTestSettings(
+        Duration warmup,
+        Duration duration,
+        int concurrency,
+        int hotKeys,
+        double zipfExponent,
+        TrafficMix mix,
+        OptionalDouble sloP99Millis,
+        OptionalDouble sloMinThroughput,
+        double sloMaxErrorRate) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 5)),
+                Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 30)),
+                Integer.getInteger("loadtest.concurrency", 16),
+                Integer.getInteger("loadtest.hotKeys", 2_000),
+                doubleProperty("loadtest.zipfExponent", 1.1),
+                TrafficMix.parse(System.getProperty("loadtest.mix", "fetch=80,update=12,create=5,delete=3")),
+                optionalDoubleProperty("loadtest.slo.p99Millis"),
+                optionalDoubleProperty("loadtest.slo.minThroughput"),
+                doubleProperty("loadtest.slo.maxErrorRate", 0.001));
+    }
+
+    private static OptionalDouble optionalDoubleProperty(String name) {
+        String value = System.getProperty(name);
+        return value == null ? OptionalDouble.empty() : OptionalDouble.of(Double.parseDouble(value));
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,203 @@
+package com.eazybytes.accounts.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:slowdb",
+        "accounts.persistence.budgets.fetch=200ms",
+        "accounts.persistence.queryTimeouts.fetch=2",
+        "accounts.persistence.breaker.slidingWindowSize=4",
+        "accounts.persistence.breaker.minimumNumberOfCalls=4",
+        "accounts.persistence.breaker.waitDurationInOpenState=2s",
+        "accounts.persistence.breaker.permittedCallsInHalfOpenState=2"
+})
+@AutoConfigureMockMvc
+class PersistenceCircuitBreakerTest {
+
+    private static final String MOBILE_NUMBER = "0123456789";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PersistenceCircuitBreakerHealthIndicator healthIndicator;
+
+    @Test
+    void slowDatabaseTimesOutThenOpensTheBreaker() throws Exception {
+        SlowDataSource slowDataSource = (SlowDataSource) dataSource;
+        mockMvc.perform(post("/api/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Slow Customer\",\"email\":\"slow@example.com\",\"mobileNumber\":\"" + MOBILE_NUMBER + "\"}"))
+                .andExpect(status().isCreated());
+
+        // far beyond the 2s fetch timeout: the statement is cancelled instead of holding the thread
+        slowDataSource.latencyMillis = 10_000;
+        long start = System.nanoTime();
+        fetch().andExpect(status().isServiceUnavailable());
+        assertTrue(millisSince(start) < 5_000, "fetch was not cut off by its query timeout");
+
+        // answers, but over the 200ms budget: still a failure as far as the breaker is concerned
+        slowDataSource.latencyMillis = 300;
+        fetch().andExpect(status().isOk());
+        fetch().andExpect(status().isOk());
+        assertEquals(Status.OUT_OF_SERVICE, healthIndicator.health().getStatus());
+
+        int executions = slowDataSource.executions.get();
+        start = System.nanoTime();
+        fetch().andExpect(status().isServiceUnavailable());
+        assertTrue(millisSince(start) < 200, "open breaker did not fail fast");
+        assertEquals(executions, slowDataSource.executions.get());
+
+        Health health = healthIndicator.health();
+        assertEquals("OPEN", health.getDetails().get("state").toString());
+        assertEquals(1L, health.getDetails().get("notPermittedCalls"));
+
+        // out of rotation through readiness only, liveness and the root status keep the pod running
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("OUT_OF_SERVICE"));
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+
+        // with the pod out of rotation no call arrives, the wait alone must bring it back
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (healthIndicator.health().getStatus() != Status.UP && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+        assertEquals("HALF_OPEN", healthIndicator.health().getDetails().get("state").toString());
+
+        slowDataSource.latencyMillis = 0;
+        fetch().andExpect(status().isOk());
+        fetch().andExpect(status().isOk());
+        assertEquals("CLOSED", healthIndicator.health().getDetails().get("state").toString());
+    }
+
+    private ResultActions fetch() throws Exception {
+        return mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER));
+    }
+
+    private static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    @TestConfiguration
+    static class SlowDatabaseConfig {
+
+        @Bean
+        static BeanPostProcessor slowDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return "dataSource".equals(beanName) ? new SlowDataSource((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Stands in for a database that has slowed down: every statement stalls for {@code latencyMillis},
+     * and honours its query timeout the way a real driver would, by giving up with SQLTimeoutException.
+     */
+    static class SlowDataSource extends DelegatingDataSource {
+
+        volatile long latencyMillis;
+        final AtomicInteger executions = new AtomicInteger();
+
+        SlowDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrapConnection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrapConnection(super.getConnection(username, password));
+        }
+
+        private Connection wrapConnection(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                            return wrapStatement(method.getReturnType(), statement);
+                        }
+                        return result;
+                    });
+        }
+
+        private Object wrapStatement(Class<?> type, Statement statement) {
+            int[] queryTimeout = {0};
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("setQueryTimeout")) {
+                            queryTimeout[0] = (int) args[0];
+                        } else if (method.getName().startsWith("execute")) {
+                            stall(queryTimeout[0]);
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private void stall(int queryTimeoutSeconds) throws SQLException {
+            executions.incrementAndGet();
+            long latency = latencyMillis;
+            try {
+                if (queryTimeoutSeconds > 0 && latency > queryTimeoutSeconds * 1000L) {
+                    Thread.sleep(queryTimeoutSeconds * 1000L);
+                    throw new SQLTimeoutException("Statement cancelled after " + queryTimeoutSeconds + "s", "57014");
+                }
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while stalling", e);
+            }
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
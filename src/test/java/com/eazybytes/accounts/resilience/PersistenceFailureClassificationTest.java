@@ -0,0 +1,52 @@
+package com.eazybytes.accounts.resilience;
+
+import com.eazybytes.accounts.config.PersistenceResilienceProperties;
+import com.eazybytes.accounts.exception.PersistenceUnavailableException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.orm.jpa.JpaSystemException;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PersistenceFailureClassificationTest {
+
+    private final PersistenceCircuitBreaker breaker = new PersistenceCircuitBreaker(new PersistenceResilienceProperties(
+            Duration.ofSeconds(1), Map.of(),
+            new PersistenceResilienceProperties.Breaker(50, 4, 4, Duration.ofSeconds(10), 2)));
+
+    @Test
+    void badClientInputDoesNotOpenTheBreaker() {
+        for (int i = 0; i < 10; i++) {
+            fail(new DataIntegrityViolationException("duplicate mobile number"));
+            fail(new IncorrectResultSizeDataAccessException(1, 2));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void connectionFailuresOpenTheBreaker() {
+        for (int i = 0; i < 2; i++) {
+            fail(new CannotGetJdbcConnectionException("pool exhausted"));
+            fail(new JpaSystemException(new RuntimeException(new SQLTransientConnectionException("connection reset"))));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(PersistenceUnavailableException.class, () -> breaker.execute("fetch", () -> "not called"));
+    }
+
+    private void fail(RuntimeException failure) {
+        assertThrows(failure.getClass(), () -> breaker.execute("fetch", () -> {
+            throw failure;
+        }));
+    }
+}
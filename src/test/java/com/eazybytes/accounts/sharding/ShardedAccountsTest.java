@@ -0,0 +1,128 @@
+package com.eazybytes.accounts.sharding;
+
+import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.SearchResultDto;
+import com.eazybytes.accounts.exception.MobileNumberChangeNotAllowedException;
+import com.eazybytes.accounts.service.IAccountsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "accounts.sharding.enabled=true",
+        "accounts.sharding.shards[0].url=jdbc:h2:mem:sharded0;DB_CLOSE_DELAY=-1",
+        "accounts.sharding.shards[1].url=jdbc:h2:mem:sharded1;DB_CLOSE_DELAY=-1",
+        "accounts.sharding.shards[2].url=jdbc:h2:mem:sharded2;DB_CLOSE_DELAY=-1",
+        "accounts.export.pageSize=7"
+})
+@AutoConfigureMockMvc
+class ShardedAccountsTest {
+
+    private static final List<String> SHARD_URLS = List.of(
+            "jdbc:h2:mem:sharded0;DB_CLOSE_DELAY=-1",
+            "jdbc:h2:mem:sharded1;DB_CLOSE_DELAY=-1",
+            "jdbc:h2:mem:sharded2;DB_CLOSE_DELAY=-1");
+
+    @Autowired
+    private IAccountsService iAccountsService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void customersLiveOnTheShardOfTheirMobileNumberAndSurviveResharding() throws Exception {
+        List<String> mobileNumbers = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String mobileNumber = String.format("01%08d", i * 7919);
+            mobileNumbers.add(mobileNumber);
+            iAccountsService.createAccount(customer(mobileNumber, "Customer " + i, null));
+        }
+
+        for (String mobileNumber : mobileNumbers) {
+            int shard = shardRouter.shardForMobileNumber(mobileNumber);
+            assertEquals(1, count(shardRouter.shardDataSources().get(shard), mobileNumber));
+
+            CustomerDto fetched = iAccountsService.fetchAccount(mobileNumber);
+            long accountNumber = fetched.accountsDto().accountNumber();
+            assertEquals(ShardKeys.bucketOf(mobileNumber), ShardKeys.bucketOfAccountNumber(accountNumber).getAsInt());
+        }
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            assertTrue(countAll(shardRouter.shardDataSources().get(shard)) > 0, "shard " + shard + " is empty");
+        }
+
+        String updatedMobileNumber = mobileNumbers.get(3);
+        AccountsDto fetchedAccount = iAccountsService.fetchAccount(updatedMobileNumber).accountsDto();
+        AccountsDto accountsDto = new AccountsDto(fetchedAccount.accountNumber(), "Current", fetchedAccount.branchAddress());
+        assertTrue(iAccountsService.updateAccount(customer(updatedMobileNumber, "Renamed Customer", accountsDto)));
+        assertEquals("Current", iAccountsService.fetchAccount(updatedMobileNumber).accountsDto().accountType());
+        assertThrows(MobileNumberChangeNotAllowedException.class,
+                () -> iAccountsService.updateAccount(customer("0999999999", "Renamed Customer", accountsDto)));
+
+        Set<String> exported = new HashSet<>();
+        List<String> exportCursors = iAccountsService.exportCursors();
+        assertEquals(shardRouter.shardCount(), exportCursors.size());
+        for (String cursor : exportCursors) {
+            do {
+                SearchResultDto page = iAccountsService.exportAccounts(cursor, 7);
+                page.results().forEach(customerDto -> assertTrue(exported.add(customerDto.mobileNumber())));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+        }
+        assertEquals(new HashSet<>(mobileNumbers), exported);
+        mockMvc.perform(get("/api/export"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(mobileNumbers.size()));
+
+        List<String> grownShards = new ArrayList<>(SHARD_URLS);
+        grownShards.add("jdbc:h2:mem:sharded3;DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(new DriverManagerDataSource(grownShards.get(3), "sa", ""))
+                .execute(new String(getClass().getResourceAsStream("/schema.sql").readAllBytes()));
+        Map<String, Integer> moved = new ReshardingTool(SHARD_URLS, grownShards, "sa", "").run();
+
+        int movedTotal = moved.values().stream().mapToInt(Integer::intValue).sum();
+        assertTrue(movedTotal > 0 && movedTotal < mobileNumbers.size());
+        for (String mobileNumber : mobileNumbers) {
+            int shard = ShardKeys.shardOf(ShardKeys.bucketOf(mobileNumber), grownShards.size());
+            JdbcTemplate target = new JdbcTemplate(
+                    new DriverManagerDataSource(grownShards.get(shard), "sa", ""));
+            assertEquals(1, target.queryForObject(
+                    "select count(*) from customer c join accounts a on a.customer_id = c.customer_id where c.mobile_number = ?",
+                    Integer.class, mobileNumber));
+        }
+    }
+
+    private static CustomerDto customer(String mobileNumber, String name, AccountsDto accountsDto) {
+        return new CustomerDto(name, "customer@example.com", mobileNumber, accountsDto);
+    }
+
+    private static int count(DataSource shard, String mobileNumber) {
+        return new JdbcTemplate(shard).queryForObject(
+                "select count(*) from customer where mobile_number = ?", Integer.class, mobileNumber);
+    }
+
+    private static int countAll(DataSource shard) {
+        return new JdbcTemplate(shard).queryForObject("select count(*) from customer", Integer.class);
+    }
+}
@@ -0,0 +1,94 @@
+package com.eazybytes.accounts.sharding;
+
+import com.eazybytes.accounts.datasource.ReadWriteRoutingDataSource;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every shard has its own replica, a separate H2 database that does not replicate, so the customer name
+ * in a fetch response shows which shard and which side of it served the read.
+ */
+@SpringBootTest(properties = {
+        "accounts.sharding.enabled=true",
+        "accounts.sharding.shards[0].url=jdbc:h2:mem:replicated-shard0;DB_CLOSE_DELAY=-1",
+        "accounts.sharding.shards[0].replicas[0].url=jdbc:h2:mem:replicated-shard0-replica;DB_CLOSE_DELAY=-1",
+        "accounts.sharding.shards[1].url=jdbc:h2:mem:replicated-shard1;DB_CLOSE_DELAY=-1",
+        "accounts.sharding.shards[1].replicas[0].url=jdbc:h2:mem:replicated-shard1-replica;DB_CLOSE_DELAY=-1",
+        "accounts.datasource.routing.enabled=true"
+})
+@AutoConfigureMockMvc
+class ShardedReplicaRoutingTest {
+
+    private static final List<String> REPLICA_URLS = List.of(
+            "jdbc:h2:mem:replicated-shard0-replica;DB_CLOSE_DELAY=-1",
+            "jdbc:h2:mem:replicated-shard1-replica;DB_CLOSE_DELAY=-1");
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void readsGoToTheReplicaOfTheCustomersShard() throws Exception {
+        for (int shard = 0; shard < REPLICA_URLS.size(); shard++) {
+            assertInstanceOf(ReadWriteRoutingDataSource.class, shardRouter.shardDataSources().get(shard));
+        }
+
+        Set<Integer> shardsRead = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            String mobileNumber = String.format("02%08d", i * 7919);
+            int shard = shardRouter.shardForMobileNumber(mobileNumber);
+            shardsRead.add(shard);
+            seedReplica(REPLICA_URLS.get(shard), i + 1, "Replica " + shard + " Customer", mobileNumber);
+
+            MvcResult created = mockMvc.perform(post("/api/create")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"Primary Customer\",\"email\":\"primary@example.com\",\"mobileNumber\":\"" + mobileNumber + "\"}"))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            Cookie lastWrite = created.getResponse().getCookie("accounts-last-write");
+            assertNotNull(lastWrite);
+
+            mockMvc.perform(get("/api/fetch").param("mobileNumber", mobileNumber).cookie(lastWrite))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("Primary Customer"));
+
+            mockMvc.perform(get("/api/fetch").param("mobileNumber", mobileNumber))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("Replica " + shard + " Customer"));
+        }
+        assertEquals(REPLICA_URLS.size(), shardsRead.size());
+    }
+
+    private static void seedReplica(String url, long customerId, String name, String mobileNumber) {
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replica.getDataSource());
+        replica.update("insert into customer (customer_id, name, email, mobile_number, created_at, created_by) " +
+                "values (?, ?, 'replica@example.com', ?, current_date, 'TEST')", customerId, name, mobileNumber);
+        replica.update("insert into accounts (customer_id, account_number, account_type, branch_address, created_at, created_by) " +
+                "values (?, ?, 'Savings', 'Replica Street', current_date, 'TEST')", customerId, 1_000_000_000L + customerId);
+    }
+}